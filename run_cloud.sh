@@ -12,7 +12,7 @@ mkdir -p graphs
 
 echo "Running benchmark..."
 
-java -cp target/classes com.concurrent.Main
+java -cp target/classes com.concurrent.benchmark.Main
 
 echo "Benchmarks complete."
 echo "Generating graphs..."
@@ -6,6 +6,6 @@ mvn -q clean compile
 mkdir -p results
 
 echo "Running..."
-java -cp target/classes com.concurrent.Main
+java -cp target/classes com.concurrent.benchmark.Main
 
 echo "Done. See results/ folder."
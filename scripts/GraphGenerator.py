@@ -5,38 +5,30 @@ import matplotlib.pyplot as plt
 RESULTS_DIR = "results"
 GRAPH_DIR = "graphs"
 
+# Per-cell side files written next to the main results; not throughput curves
+SKIP_SUFFIXES = ("_locks", "_timeline")
+
 if not os.path.exists(GRAPH_DIR):
     os.makedirs(GRAPH_DIR)
 
-# Iterate over all CSV files in results/
-for filename in os.listdir(RESULTS_DIR):
-    if not filename.endswith(".csv"):
-        continue
-
-    file_path = os.path.join(RESULTS_DIR, filename)
-    print(f"Processing {file_path}")
-
-    # Extract metadata from file name
-    # Example: ConcurrentAVL_90C-9I-1D.csv
-    parts = filename.replace(".csv", "").split("_")
-    ds_name = parts[0]
-    workload = parts[1]
-
-    # Load CSV
-    df = pd.read_csv(file_path)
 
+def plot(ds_name, workload, df):
     # Compute average throughput for each thread count
-    avg_df = df.groupby("threads")["throughput_ops_per_sec"].mean().reset_index()
+    avg_df = df.groupby("Threads")["ThroughputOpsPerSec"].mean().reset_index()
 
-    # PLOT
     plt.figure(figsize=(10, 6))
     plt.plot(
-        avg_df["threads"],
-        avg_df["throughput_ops_per_sec"],
+        avg_df["Threads"],
+        avg_df["ThroughputOpsPerSec"],
         marker="o",
         linewidth=2
     )
 
+    # Confidence interval band when the benchmark reported one
+    if "CILower" in df.columns and "CIUpper" in df.columns:
+        ci = df.groupby("Threads")[["CILower", "CIUpper"]].mean().reset_index()
+        plt.fill_between(ci["Threads"], ci["CILower"], ci["CIUpper"], alpha=0.2)
+
     plt.title(f"{ds_name} — {workload}")
     plt.xlabel("Thread Count")
     plt.ylabel("Throughput (ops/sec)")
@@ -49,4 +41,31 @@ for filename in os.listdir(RESULTS_DIR):
 
     print(f"Saved graph to {out_path}")
 
+
+# Iterate over all CSV files in results/
+for filename in sorted(os.listdir(RESULTS_DIR)):
+    if not filename.endswith(".csv"):
+        continue
+    stem = filename[:-len(".csv")]
+    if stem.endswith(SKIP_SUFFIXES) or stem.startswith("history"):
+        continue
+
+    file_path = os.path.join(RESULTS_DIR, filename)
+
+    # Load CSV
+    df = pd.read_csv(file_path)
+    if "Threads" not in df.columns or "ThroughputOpsPerSec" not in df.columns:
+        print(f"Skipping {file_path}: no Threads/ThroughputOpsPerSec columns")
+        continue
+    print(f"Processing {file_path}")
+
+    if "Workload" in df.columns:
+        # Long format: one file holds every workload of a structure
+        for (ds_name, workload), group in df.groupby(["DataStructure", "Workload"]):
+            plot(ds_name, workload, group)
+    else:
+        # Per-cell files from Main, e.g. BST_90C-9I-1D.csv or BST_90C-9I-1D_virtual.csv
+        parts = stem.split("_")
+        plot(parts[0], "_".join(parts[1:]), df)
+
 print("Graph generation completed.")
@@ -0,0 +1,23 @@
+#!/bin/bash
+
+# Usage:
+# ./jfr_wrapper.sh <DataStructureName> <WorkloadName> <Threads>
+#
+# Container-friendly alternative to perf_wrapper.sh: records the cell with
+# JDK Flight Recorder instead of `sudo perf stat`.
+
+DS_NAME=$1
+WORKLOAD=$2
+THREADS=$3
+
+mkdir -p results/jfr
+
+echo "Running JFR for $DS_NAME $WORKLOAD Threads=$THREADS"
+echo "Recording → results/jfr/${DS_NAME}_${WORKLOAD}_${THREADS}.jfr"
+
+java -cp target/classes com.concurrent.benchmark.Main \
+   --ds $DS_NAME --workload $WORKLOAD --threads $THREADS --jfr
+
+java -cp target/classes com.concurrent.jfr.JfrSummarizer results/jfr results/jfr_summary.csv
+
+echo "Done."
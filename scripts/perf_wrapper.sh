@@ -17,7 +17,7 @@ echo "Output → $OUT_FILE"
 
 sudo perf stat \
    -e cache-misses,cycles,branches,branch-misses \
-   java -cp target/classes com.concurrent.Main \
+   java -cp target/classes com.concurrent.benchmark.Main \
    --ds $DS_NAME --workload $WORKLOAD --threads $THREADS \
    1> /dev/null \
    2> "$OUT_FILE"
@@ -0,0 +1,127 @@
+package com.concurrent.affinity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logical CPUs with their socket, physical core and SMT sibling index, read from
+ * {@code /sys/devices/system/cpu}.
+ */
+public class CpuTopology {
+
+    private static final Path CPU_ROOT = Paths.get("/sys/devices/system/cpu");
+
+    /** One logical CPU. {@code smt} is its position among the siblings of its core. */
+    public static final class Cpu {
+        public final int id;
+        public final int socket;
+        public final int core;
+        public final int smt;
+
+        Cpu(int id, int socket, int core, int smt) {
+            this.id = id;
+            this.socket = socket;
+            this.core = core;
+            this.smt = smt;
+        }
+
+        @Override
+        public String toString() {
+            return "cpu" + id + "(socket " + socket + ", core " + core + ", smt " + smt + ")";
+        }
+    }
+
+    private final List<Cpu> cpus;
+
+    CpuTopology(List<Cpu> cpus) {
+        this.cpus = cpus;
+    }
+
+    /** Reads the online CPUs; throws if the sysfs topology is not available (non-Linux). */
+    public static CpuTopology detect() throws IOException {
+        List<Cpu> cpus = new ArrayList<>();
+        for (int id : parseList(read(CPU_ROOT.resolve("online")))) {
+            Path topo = CPU_ROOT.resolve("cpu" + id).resolve("topology");
+            int socket = Integer.parseInt(read(topo.resolve("physical_package_id")));
+            int core = Integer.parseInt(read(topo.resolve("core_id")));
+            List<Integer> siblings = parseList(read(topo.resolve("thread_siblings_list")));
+            cpus.add(new Cpu(id, socket, core, Math.max(0, siblings.indexOf(id))));
+        }
+        return new CpuTopology(cpus);
+    }
+
+    public List<Cpu> getCpus() {
+        return cpus;
+    }
+
+    public int socketCount() {
+        return (int) cpus.stream().mapToInt(c -> c.socket).distinct().count();
+    }
+
+    public int coreCount() {
+        return (int) cpus.stream().filter(c -> c.smt == 0).count();
+    }
+
+    /** CPU ids in the order workers 0, 1, 2, ... are pinned; empty for {@link PlacementMode#NONE}. */
+    public int[] order(PlacementMode mode) {
+        List<Cpu> sorted = new ArrayList<>(cpus);
+        switch (mode) {
+            case NONE:
+                return new int[0];
+            case COMPACT:
+                sorted.sort(Comparator.comparingInt((Cpu c) -> c.socket)
+                        .thenComparingInt(c -> c.core).thenComparingInt(c -> c.smt));
+                break;
+            case SCATTER: {
+                // Rank each core within its socket so consecutive workers alternate sockets
+                sorted.sort(Comparator.comparingInt((Cpu c) -> c.smt)
+                        .thenComparingInt(c -> coreRank(c)).thenComparingInt(c -> c.socket));
+                break;
+            }
+            case SOCKET_LOCAL: {
+                int first = cpus.stream().mapToInt(c -> c.socket).min().orElse(0);
+                sorted.removeIf(c -> c.socket != first);
+                sorted.sort(Comparator.comparingInt((Cpu c) -> c.smt).thenComparingInt(c -> c.core));
+                break;
+            }
+        }
+        return sorted.stream().mapToInt(c -> c.id).toArray();
+    }
+
+    private int coreRank(Cpu cpu) {
+        return (int) cpus.stream()
+                .filter(c -> c.socket == cpu.socket && c.smt == 0 && c.core < cpu.core)
+                .count();
+    }
+
+    @Override
+    public String toString() {
+        return cpus.size() + " CPUs, " + coreCount() + " cores, " + socketCount() + " sockets";
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file)).trim();
+    }
+
+    // Kernel CPU list syntax, e.g. "0-3,8,10-11"
+    static List<Integer> parseList(String list) {
+        List<Integer> ids = new ArrayList<>();
+        if (list.isEmpty()) return ids;
+        for (String part : list.split(",")) {
+            int dash = part.indexOf('-');
+            if (dash < 0) {
+                ids.add(Integer.parseInt(part.trim()));
+            } else {
+                int from = Integer.parseInt(part.substring(0, dash).trim());
+                int to = Integer.parseInt(part.substring(dash + 1).trim());
+                for (int i = from; i <= to; i++) ids.add(i);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,20 @@
+package com.concurrent.affinity;
+
+/**
+ * How benchmark workers are pinned to logical CPUs.
+ */
+public enum PlacementMode {
+    /** No pinning; the OS scheduler places and migrates threads. */
+    NONE,
+    /** Fill both SMT siblings of a core before moving to the next core, socket by socket. */
+    COMPACT,
+    /** One worker per physical core, alternating sockets, before any SMT sibling is used. */
+    SCATTER,
+    /** Only CPUs of the first socket, one per core first, then SMT siblings. */
+    SOCKET_LOCAL;
+
+    /** Parses {@code compact}, {@code scatter}, {@code socket-local} or {@code none}. */
+    public static PlacementMode parse(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,66 @@
+package com.concurrent.affinity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Pins the calling platform thread to one CPU with {@code taskset -p}. The JVM does not
+ * expose native thread ids, so the thread reads its own id from the
+ * {@code /proc/thread-self} link ({@code <pid>/task/<tid>}).
+ */
+public final class ThreadAffinity {
+
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+
+    private ThreadAffinity() {}
+
+    /** True if this is Linux with per-thread proc entries and {@code taskset} is installed. */
+    public static boolean isSupported() {
+        if (!Files.isSymbolicLink(THREAD_SELF)) return false;
+        for (String dir : System.getenv().getOrDefault("PATH", "/usr/bin:/bin").split(":")) {
+            if (Files.isExecutable(Paths.get(dir, "taskset"))) return true;
+        }
+        return false;
+    }
+
+    /** Native id of the calling thread. */
+    public static long currentThreadId() throws IOException {
+        return Long.parseLong(Files.readSymbolicLink(THREAD_SELF).getFileName().toString());
+    }
+
+    /**
+     * Restricts the calling thread to {@code cpu}. Must run on a platform thread: a virtual
+     * thread would pin its current carrier instead. Returns false if taskset failed.
+     */
+    public static boolean pinCurrentThread(int cpu) {
+        try {
+            Process p = new ProcessBuilder("taskset", "-p", "-c", String.valueOf(cpu),
+                    String.valueOf(currentThreadId()))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return p.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Logical CPUs the calling thread may run on, as reported by the kernel. Narrower than the
+     * online CPUs under {@code taskset} or a cgroup cpuset, and inherited by new threads.
+     */
+    public static List<Integer> currentAllowedCpus() throws IOException {
+        for (String line : Files.readAllLines(THREAD_SELF.resolve("status"))) {
+            if (line.startsWith("Cpus_allowed_list:")) {
+                return CpuTopology.parseList(line.substring(line.indexOf(':') + 1).trim());
+            }
+        }
+        throw new IOException("No Cpus_allowed_list in " + THREAD_SELF.resolve("status"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.concurrent.analysis;
+
+import com.concurrent.util.CSVWriterUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fits {@link ScalabilityModel}s to thread sweeps and writes a summary ranked by coherency
+ * cost κ, plus per-thread-count efficiency.
+ *
+ * <p>Usage: {@code ScalabilityAnalyzer [results-dir]} reads every {@code <ds>_<workload>.csv}
+ * written by Main and the long-format {@code <ds>.csv} files, and writes
+ * {@code scalability_summary.csv} and {@code scalability_efficiency.csv} into the same directory.
+ */
+public final class ScalabilityAnalyzer {
+
+    // Core count to extrapolate the fitted models to
+    public static final int EXTRAPOLATE_THREADS = 64;
+
+    private ScalabilityAnalyzer() {}
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "results");
+        report(readCurves(dir), dir);
+    }
+
+    /** Fits every curve with a 1-thread point and at least three thread counts, prints and writes the results. */
+    public static List<ScalabilityModel> report(List<ScalingCurve> curves, Path dir) throws IOException {
+        List<ScalabilityModel> models = new ArrayList<>();
+        for (ScalingCurve c : curves) {
+            if (c.size() >= 3 && !Double.isNaN(c.singleThreadThroughput())) {
+                models.add(ScalabilityModel.fit(c));
+            } else {
+                System.out.println("Skipping " + c.getStructure() + "/" + c.getWorkload()
+                        + ": needs 1 thread and at least 3 thread counts");
+            }
+        }
+        models.sort(Comparator.comparingDouble(ScalabilityModel::getKappa)
+                .thenComparingDouble(ScalabilityModel::getSigma));
+
+        CSVWriterUtil summary = new CSVWriterUtil(dir.resolve("scalability_summary.csv").toString());
+        summary.writeHeader("Rank,DataStructure,Workload,Points,X1,AmdahlSigma,Sigma,Kappa,RSquared,PeakThreads,PeakThroughput,MeasuredPeakThreads,MeasuredPeakThroughput,PredictedX" + EXTRAPOLATE_THREADS + ",AmdahlX" + EXTRAPOLATE_THREADS);
+        CSVWriterUtil efficiency = new CSVWriterUtil(dir.resolve("scalability_efficiency.csv").toString());
+        efficiency.writeHeader("DataStructure,Workload,Threads,ThroughputOpsPerSec,Speedup,Efficiency,UslPredicted");
+
+        System.out.printf("%-4s %-10s %-12s %8s %10s %8s %10s %14s %14s%n",
+                "Rank", "DS", "Workload", "Sigma", "Kappa", "R2", "PeakN", "PeakOps/s", "X(" + EXTRAPOLATE_THREADS + ")");
+        int rank = 0;
+        for (ScalabilityModel m : models) {
+            ScalingCurve c = m.getCurve();
+            int best = 0;
+            for (int i = 1; i < c.size(); i++) if (c.getThroughput(i) > c.getThroughput(best)) best = i;
+            rank++;
+
+            System.out.printf("%-4d %-10s %-12s %8.4f %10.6f %8.3f %10.1f %14.0f %14.0f%n",
+                    rank, c.getStructure(), c.getWorkload(), m.getSigma(), m.getKappa(), m.getRSquared(),
+                    m.peakThreads(), m.peakThroughput(), m.predictUsl(EXTRAPOLATE_THREADS));
+            summary.writeRow(String.format("%d,%s,%s,%d,%.2f,%.6f,%.6f,%.8f,%.4f,%.2f,%.2f,%d,%.2f,%.2f,%.2f",
+                    rank, c.getStructure(), c.getWorkload(), c.size(), m.getSingleThreadThroughput(),
+                    m.getAmdahlSigma(), m.getSigma(), m.getKappa(), m.getRSquared(),
+                    m.peakThreads(), m.peakThroughput(), c.getThreads(best), c.getThroughput(best),
+                    m.predictUsl(EXTRAPOLATE_THREADS), m.predictAmdahl(EXTRAPOLATE_THREADS)));
+            for (int i = 0; i < c.size(); i++) {
+                efficiency.writeRow(String.format("%s,%s,%d,%.2f,%.3f,%.3f,%.2f",
+                        c.getStructure(), c.getWorkload(), c.getThreads(i), c.getThroughput(i),
+                        c.getThroughput(i) / m.getSingleThreadThroughput(), m.efficiency(i),
+                        m.predictUsl(c.getThreads(i))));
+            }
+        }
+        summary.close();
+        efficiency.close();
+        System.out.println("Wrote " + dir.resolve("scalability_summary.csv"));
+        return models;
+    }
+
+    /**
+     * Reads throughput curves from {@code <ds>_<workload>.csv} (Threads,...,ThroughputOpsPerSec)
+     * and long-format files with DataStructure and Workload columns. Virtual-mode and side
+     * files are skipped, a per-cell file replaces long-format rows of the same curve, and
+     * repeated thread counts are averaged.
+     */
+    public static List<ScalingCurve> readCurves(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".csv")).sorted()
+                    .collect(Collectors.toList());
+        }
+
+        // structure/workload -> thread count -> {sum, count}
+        Map<String, Map<Integer, double[]>> points = new LinkedHashMap<>();
+        Set<String> fromCellFiles = new HashSet<>();
+        for (Path file : files) {
+            String stem = file.getFileName().toString().replaceFirst("\\.csv$", "");
+            List<String> lines = Files.readAllLines(file);
+            if (lines.isEmpty()) continue;
+            List<String> header = Arrays.asList(lines.get(0).split(","));
+            int threadsCol = header.indexOf("Threads");
+            int throughputCol = header.indexOf("ThroughputOpsPerSec");
+            int dsCol = header.indexOf("DataStructure");
+            int workloadCol = header.indexOf("Workload");
+            if (threadsCol < 0 || throughputCol < 0) continue;
+
+            String[] parts = stem.split("_");
+            boolean longFormat = dsCol >= 0 && workloadCol >= 0;
+            if (!longFormat && parts.length != 2) continue; // _virtual, _locks, timelines, replay ...
+            if (!longFormat && fromCellFiles.add(stem)) points.remove(stem);
+
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.isBlank()) continue;
+                String[] f = line.split(",");
+                String key = longFormat ? f[dsCol] + "_" + f[workloadCol] : stem;
+                if (longFormat && fromCellFiles.contains(key)) continue;
+                double[] acc = points.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(Integer.parseInt(f[threadsCol].trim()), k -> new double[2]);
+                acc[0] += Double.parseDouble(f[throughputCol]);
+                acc[1]++;
+            }
+        }
+
+        List<ScalingCurve> curves = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, double[]>> e : points.entrySet()) {
+            String[] name = e.getKey().split("_", 2);
+            int[] threads = new int[e.getValue().size()];
+            double[] throughputs = new double[threads.length];
+            int i = 0;
+            for (Map.Entry<Integer, double[]> p : e.getValue().entrySet()) {
+                threads[i] = p.getKey();
+                throughputs[i++] = p.getValue()[0] / p.getValue()[1];
+            }
+            curves.add(new ScalingCurve(name[0], name[1], threads, throughputs));
+        }
+        return curves;
+    }
+}
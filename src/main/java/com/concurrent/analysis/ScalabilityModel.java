@@ -0,0 +1,126 @@
+package com.concurrent.analysis;
+
+/**
+ * Amdahl and Universal Scalability Law fits of a {@link ScalingCurve}.
+ *
+ * With relative capacity C(N) = X(N) / X(1), the USL is C(N) = N / (1 + σ(N-1) + κN(N-1)),
+ * where σ is contention (serialised work) and κ is coherency cost (pairwise crosstalk);
+ * Amdahl's law is the special case κ = 0. Rearranged, N / C(N) - 1 = σ(N-1) + κN(N-1)
+ * is linear in σ and κ, so both are fitted by least squares through the origin and
+ * constrained to be non-negative.
+ */
+public class ScalabilityModel {
+
+    private final ScalingCurve curve;
+    private final double x1;
+    private final double amdahlSigma;
+    private final double sigma;
+    private final double kappa;
+
+    private ScalabilityModel(ScalingCurve curve, double x1, double amdahlSigma,
+                             double sigma, double kappa) {
+        this.curve = curve;
+        this.x1 = x1;
+        this.amdahlSigma = amdahlSigma;
+        this.sigma = sigma;
+        this.kappa = kappa;
+    }
+
+    /** Fits both models; the curve must include N = 1 and at least one other thread count. */
+    public static ScalabilityModel fit(ScalingCurve curve) {
+        double x1 = curve.singleThreadThroughput();
+        if (Double.isNaN(x1) || curve.size() < 2) {
+            throw new IllegalArgumentException(curve.getStructure() + "/" + curve.getWorkload()
+                    + ": need a 1-thread point and at least one more thread count");
+        }
+
+        // Normal equations of y = σa + κb with a = N-1, b = N(N-1), y = N/C(N) - 1
+        double saa = 0, sab = 0, sbb = 0, say = 0, sby = 0;
+        for (int i = 0; i < curve.size(); i++) {
+            double n = curve.getThreads(i);
+            double c = curve.getThroughput(i) / x1;
+            double a = n - 1;
+            double b = n * (n - 1);
+            double y = n / c - 1;
+            saa += a * a;
+            sab += a * b;
+            sbb += b * b;
+            say += a * y;
+            sby += b * y;
+        }
+
+        double amdahl = Math.max(0, say / saa);
+
+        double sigma, kappa;
+        double det = saa * sbb - sab * sab;
+        if (det > 0) {
+            sigma = (say * sbb - sby * sab) / det;
+            kappa = (saa * sby - sab * say) / det;
+        } else {
+            sigma = amdahl;
+            kappa = 0;
+        }
+        // Constrained solutions on the boundary of σ, κ >= 0
+        if (sigma < 0) {
+            sigma = 0;
+            kappa = Math.max(0, sby / sbb);
+        }
+        if (kappa < 0) {
+            kappa = 0;
+            sigma = amdahl;
+        }
+
+        return new ScalabilityModel(curve, x1, amdahl, sigma, kappa);
+    }
+
+    /** Coefficient of determination of the USL fit on throughput. */
+    public double getRSquared() {
+        double mean = 0;
+        for (int i = 0; i < curve.size(); i++) mean += curve.getThroughput(i);
+        mean /= curve.size();
+        double ssRes = 0, ssTot = 0;
+        for (int i = 0; i < curve.size(); i++) {
+            double x = curve.getThroughput(i);
+            double err = x - predictUsl(curve.getThreads(i));
+            ssRes += err * err;
+            ssTot += (x - mean) * (x - mean);
+        }
+        return ssTot == 0 ? 1 : 1 - ssRes / ssTot;
+    }
+
+    public ScalingCurve getCurve() { return curve; }
+    public double getSingleThreadThroughput() { return x1; }
+    public double getAmdahlSigma() { return amdahlSigma; }
+    public double getSigma() { return sigma; }
+    public double getKappa() { return kappa; }
+
+    public double predictUsl(double n) {
+        return x1 * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+    }
+
+    public double predictAmdahl(double n) {
+        return x1 * n / (1 + amdahlSigma * (n - 1));
+    }
+
+    /**
+     * Thread count of maximum USL throughput, sqrt((1 - σ) / κ), and at least 1. Infinite
+     * if κ = 0 and σ < 1; a fitted σ of 1 or more means throughput already falls from N = 1.
+     */
+    public double peakThreads() {
+        if (sigma >= 1) return 1;
+        if (kappa <= 0) return Double.POSITIVE_INFINITY;
+        return Math.max(1, Math.sqrt((1 - sigma) / kappa));
+    }
+
+    /** USL throughput at {@link #peakThreads()}; the Amdahl ceiling X(1) / σ if κ = 0. */
+    public double peakThroughput() {
+        double peak = peakThreads();
+        if (Double.isInfinite(peak)) return sigma > 0 ? x1 / sigma : Double.POSITIVE_INFINITY;
+        return predictUsl(peak);
+    }
+
+    /** Measured parallel efficiency X(N) / (N X(1)) of point i of the curve. */
+    public double efficiency(int i) {
+        return curve.getThroughput(i) / (curve.getThreads(i) * x1);
+    }
+}
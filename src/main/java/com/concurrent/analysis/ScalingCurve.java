@@ -0,0 +1,44 @@
+package com.concurrent.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Mean throughput of one structure/workload at each measured thread count, sorted by
+ * thread count.
+ */
+public class ScalingCurve {
+
+    private final String structure;
+    private final String workload;
+    private final int[] threads;
+    private final double[] throughputs;
+
+    public ScalingCurve(String structure, String workload, int[] threads, double[] throughputs) {
+        if (threads.length != throughputs.length) {
+            throw new IllegalArgumentException("threads and throughputs differ in length");
+        }
+        this.structure = structure;
+        this.workload = workload;
+
+        Integer[] order = new Integer[threads.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(threads[a], threads[b]));
+        this.threads = new int[threads.length];
+        this.throughputs = new double[threads.length];
+        for (int i = 0; i < order.length; i++) {
+            this.threads[i] = threads[order[i]];
+            this.throughputs[i] = throughputs[order[i]];
+        }
+    }
+
+    public String getStructure() { return structure; }
+    public String getWorkload() { return workload; }
+    public int size() { return threads.length; }
+    public int getThreads(int i) { return threads[i]; }
+    public double getThroughput(int i) { return throughputs[i]; }
+
+    /** Throughput at one thread, or NaN if the sweep did not include it. */
+    public double singleThreadThroughput() {
+        return threads.length > 0 && threads[0] == 1 ? throughputs[0] : Double.NaN;
+    }
+}
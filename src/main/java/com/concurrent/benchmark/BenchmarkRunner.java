@@ -1,14 +1,54 @@
 package com.concurrent.benchmark;
 
+import com.concurrent.affinity.ThreadAffinity;
+import com.concurrent.datastructures.CacheStats;
+import com.concurrent.datastructures.CachedSet;
 import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.jfr.BenchmarkPhaseEvent;
+import com.concurrent.jfr.CellRecording;
+import com.concurrent.jfr.JfrSummary;
+import com.concurrent.jfr.SlowOperationEvent;
+import com.concurrent.locks.LockGroupStats;
+import com.concurrent.locks.LockStats;
+import com.concurrent.stress.History;
+import com.concurrent.stress.HistoryBuffer;
+import com.concurrent.trace.RecordingSet;
+import com.concurrent.trace.TraceFormat;
+import com.concurrent.trace.TraceReader;
+import com.concurrent.util.StatsUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 public class BenchmarkRunner {
 
+    // Per-worker op counters are spaced 16 longs (128 bytes) apart to avoid false sharing
+    private static final int COUNTER_PAD = 16;
+
+    // Number of consecutive stable warmup intervals required to declare steady state
+    private static final int STEADY_INTERVALS = 3;
+
+    // With flight recording on, one in every 64 operations is timed as a SlowOperationEvent
+    private static final long SLOW_OP_SAMPLE_MASK = 63;
+
     private final Supplier<ConcurrentSet> dsFactory;
     private final int totalElements;
     private final int prefillPercentage;
@@ -18,6 +58,52 @@ public class BenchmarkRunner {
     private final int durationSeconds;
     private final int numRuns;
 
+    // Warmup: disabled unless a maximum warmup time is set
+    private double warmupMaxSeconds = 0;
+    private int warmupIntervalMillis = 500;
+    private double steadyStateThreshold = 0.02;
+
+    // Run count: fixed numRuns unless a target CI width is set
+    private int minRuns = 3;
+    private double targetCiPercent = 0;
+
+    // Prefill: single-threaded ascending inserts unless configured otherwise
+    private PrefillMode prefillMode = PrefillMode.ASCENDING;
+    private int prefillThreads = 1;
+
+    // Snapshot restored by PrefillMode.SNAPSHOT; a temporary file unless set
+    private Path snapshotFile;
+    private boolean snapshotWritten = false;
+
+    // Clients: one platform thread each, no think time
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private long thinkNanos = 0;
+
+    // Allocation/GC/heap accounting; forces GCs outside the timed phases
+    private boolean memoryAccounting = false;
+
+    // Flight recording of each runMultiple() call; off unless a file is set
+    private Path recordingFile;
+    private Duration slowOpThreshold;
+
+    // Throughput timeline sampling; off unless an interval is set
+    private int timelineIntervalMillis = 0;
+    private double dipFraction = 0.5;
+
+    // Operation traces: recording of the first measured run, or replay instead of the random mix
+    private Path traceRecordDir;
+    private List<TraceReader> replayTraces;
+    private ReplayPacing replayPacing = ReplayPacing.AS_FAST_AS_POSSIBLE;
+
+    // CPU of each platform worker, in worker order; unpinned when empty
+    private int[] placementCpus = new int[0];
+
+    // Key popularity: uniform over [0, totalElements) unless a Zipfian generator is set
+    private ZipfianGenerator zipfian;
+
+    // Stress mode: operations each client records for the linearizability checker; off when 0
+    private int stressOpsPerClient = 0;
+
     // Constructor for single run (backward compatible)
     public BenchmarkRunner(
             ConcurrentSet dataStructure,
@@ -32,7 +118,7 @@ public class BenchmarkRunner {
              containsPercent, insertPercent, numThreads, durationSeconds, 1);
     }
 
-    // Constructor with factory for multiple runs
+    // Constructor with factory for multiple runs; numRuns is the maximum when a CI target is set
     public BenchmarkRunner(
             Supplier<ConcurrentSet> dsFactory,
             int totalElements,
@@ -53,59 +139,306 @@ public class BenchmarkRunner {
         this.numRuns = numRuns;
     }
 
+    /**
+     * Enables a warmup phase before each measured run. Warmup ends once the throughput of
+     * consecutive sampling intervals changes by less than {@code threshold} (relative), or
+     * after {@code maxSeconds}.
+     */
+    public BenchmarkRunner setWarmup(double maxSeconds, int intervalMillis, double threshold) {
+        this.warmupMaxSeconds = maxSeconds;
+        this.warmupIntervalMillis = intervalMillis;
+        this.steadyStateThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Makes {@link #runMultiple()} repeat runs until the 95% confidence interval of mean
+     * throughput is within {@code targetPercent} of the mean, between {@code minRuns} and numRuns.
+     * It never stops before {@link StatsUtil#MIN_BIMODAL_VALUES} runs (if numRuns allows), so
+     * every cell gets a bimodality verdict.
+     */
+    public BenchmarkRunner setTargetConfidence(double targetPercent, int minRuns) {
+        this.targetCiPercent = targetPercent;
+        this.minRuns = minRuns;
+        return this;
+    }
+
+    /**
+     * Selects how the structure is prefilled. {@code threads} splits the key sequence into
+     * contiguous chunks inserted concurrently; it is ignored for
+     * {@link PrefillMode#BULK} and {@link PrefillMode#SNAPSHOT}, which build in one call.
+     */
+    public BenchmarkRunner setPrefill(PrefillMode mode, int threads) {
+        this.prefillMode = mode;
+        this.prefillThreads = Math.max(1, threads);
+        return this;
+    }
+
+    /**
+     * File used by {@link PrefillMode#SNAPSHOT}. It is (re)written from a bulk-loaded
+     * structure before the first timed prefill of this runner.
+     */
+    public BenchmarkRunner setSnapshotFile(Path file) {
+        this.snapshotFile = file;
+        this.snapshotWritten = false;
+        return this;
+    }
+
+    /**
+     * Selects the thread kind that runs each of the numThreads clients, and an optional pause
+     * between a client's operations. Virtual mode is meant for 1k-100k logical clients.
+     */
+    public BenchmarkRunner setExecution(ExecutionMode mode, long thinkMicros) {
+        this.executionMode = mode;
+        this.thinkNanos = thinkMicros * 1_000L;
+        return this;
+    }
+
+    /**
+     * Records bytes allocated per operation, GC activity during the measured phase and live
+     * heap (after forced GC) before prefill, after prefill and after the run.
+     */
+    public BenchmarkRunner setMemoryAccounting(boolean enabled) {
+        this.memoryAccounting = enabled;
+        return this;
+    }
+
+    /**
+     * Records the whole cell (all runs of {@link #runMultiple()}) with JDK Flight Recorder into
+     * {@code file}, including phase events and sampled operations slower than
+     * {@code slowOpThreshold}, and attaches a {@link JfrSummary} of the recording.
+     */
+    public BenchmarkRunner setFlightRecording(Path file, Duration slowOpThreshold) {
+        this.recordingFile = file;
+        this.slowOpThreshold = slowOpThreshold;
+        return this;
+    }
+
+    /**
+     * Samples the workers' op counters every {@code intervalMillis} during the measured phase
+     * and flags intervals whose throughput is below {@code dipFraction} of the median.
+     */
+    public BenchmarkRunner setTimeline(int intervalMillis, double dipFraction) {
+        this.timelineIntervalMillis = intervalMillis;
+        this.dipFraction = dipFraction;
+        return this;
+    }
+
+    /**
+     * Records the operations of the first run into one trace file per worker under
+     * {@code dir}, for later replay against other structures. Recording starts right after
+     * prefill and covers warmup, since replay skips warmup and must reach the same state.
+     */
+    public BenchmarkRunner setTraceRecording(Path dir) {
+        this.traceRecordDir = dir;
+        return this;
+    }
+
+    /**
+     * Replays recorded traces instead of the random operation mix: one client per trace,
+     * each issuing its recorded operations once and in order. The client count replaces
+     * numThreads and a run ends when every trace is consumed. Warmup is skipped so that,
+     * after prefill, each structure sees exactly the recorded sequence.
+     */
+    public BenchmarkRunner setReplay(List<TraceReader> traces, ReplayPacing pacing) {
+        this.replayTraces = traces;
+        this.replayPacing = pacing;
+        return this;
+    }
+
+    /**
+     * Pins platform worker i to logical CPU {@code cpus[i % cpus.length]} before it starts,
+     * e.g. an order from {@link com.concurrent.affinity.CpuTopology#order}. Ignored for
+     * virtual threads and for an empty array.
+     */
+    public BenchmarkRunner setPlacement(int[] cpus) {
+        this.placementCpus = cpus.clone();
+        return this;
+    }
+
+    /**
+     * Draws operation keys from a scrambled Zipfian distribution with skew {@code theta} in
+     * (0, 1), e.g. 0.99 as in YCSB. A theta of 0 restores uniform keys.
+     */
+    public BenchmarkRunner setZipfian(double theta) {
+        this.zipfian = theta == 0 ? null : new ZipfianGenerator(totalElements, theta);
+        return this;
+    }
+
+    /**
+     * Records every client operation, with its result and invocation/response times, into a
+     * preallocated {@link History} attached to the run's metrics. Warmup is skipped so the
+     * history starts from the prefilled keys, and a client stops once it has recorded
+     * {@code opsPerClient} operations. Ignored for replays.
+     */
+    public BenchmarkRunner setStress(int opsPerClient) {
+        this.stressOpsPerClient = opsPerClient;
+        return this;
+    }
+
     public AggregateMetrics runMultiple() throws InterruptedException {
+        CellRecording recording = null;
+        if (recordingFile != null) {
+            try {
+                recording = CellRecording.start(recordingFile, slowOpThreshold);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         double[] throughputs = new double[numRuns];
         long[] totalOps = new long[numRuns];
         double[] durations = new double[numRuns];
+        double warmupTotal = 0;
+        double prefillTotal = 0;
+        int maxDepth = -1;
+        double avgDepthTotal = 0;
+        int avgDepthRuns = 0;
+        boolean allSteady = true;
+        Map<String, LockGroupStats> lockStats = new LinkedHashMap<>();
+        CacheStats cacheStats = null;
+        MemoryMetrics[] memory = new MemoryMetrics[numRuns];
+        List<ThroughputTimeline> timelines = new ArrayList<>();
 
-        for (int i = 0; i < numRuns; i++) {
+        int runs = 0;
+        while (runs < numRuns) {
             ConcurrentSet ds = dsFactory.get();
-            PerformanceMetrics result = runSingle(ds);
-            
-            throughputs[i] = result.getThroughput();
-            totalOps[i] = result.getTotalOps();
-            durations[i] = result.getSeconds();
-            
-            System.out.printf("  Run %d: %.2f ops/sec%n", i + 1, result.getThroughput());
-            
+            PerformanceMetrics result;
+            try {
+                result = runSingle(ds, runs == 0 ? traceRecordDir : null);
+            } finally {
+                close(ds);
+            }
+
+            throughputs[runs] = result.getThroughput();
+            totalOps[runs] = result.getTotalOps();
+            durations[runs] = result.getSeconds();
+            warmupTotal += result.getWarmupSeconds();
+            allSteady &= result.isSteadyState();
+            prefillTotal += result.getPrefillSeconds();
+            maxDepth = Math.max(maxDepth, result.getDepth());
+            if (result.getAvgDepth() >= 0) {
+                avgDepthTotal += result.getAvgDepth();
+                avgDepthRuns++;
+            }
+            memory[runs] = result.getMemory();
+            if (result.getTimeline() != null) timelines.add(result.getTimeline());
+            for (LockGroupStats g : result.getLockStats()) {
+                lockStats.merge(g.getName(), g, LockGroupStats::merge);
+            }
+            if (result.getCacheStats() != null) {
+                cacheStats = cacheStats == null ? result.getCacheStats() : cacheStats.merge(result.getCacheStats());
+            }
+            runs++;
+
+            System.out.printf("  Run %d: %.2f ops/sec%n", runs, result.getThroughput());
+
             Thread.sleep(500);
             System.gc();
+
+            if (targetCiPercent > 0 && runs >= Math.min(Math.max(minRuns, StatsUtil.MIN_BIMODAL_VALUES), numRuns)) {
+                double halfWidth = StatsUtil.confidenceHalfWidth(throughputs, runs);
+                double mean = StatsUtil.mean(throughputs, runs);
+                if (halfWidth <= mean * targetCiPercent / 100.0) break;
+            }
         }
 
-        double avgThroughput = average(throughputs);
-        double stdDev = standardDeviation(throughputs, avgThroughput);
-        double minThroughput = min(throughputs);
-        double maxThroughput = max(throughputs);
+        double avgThroughput = StatsUtil.mean(throughputs, runs);
+        double stdDev = StatsUtil.sampleStdDev(throughputs, runs);
+        double halfWidth = StatsUtil.confidenceHalfWidth(throughputs, runs);
 
+        JfrSummary jfrSummary = null;
+        if (recording != null) {
+            try {
+                jfrSummary = recording.stopAndDump();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         return new AggregateMetrics(
-            numRuns, avgThroughput, stdDev, minThroughput, maxThroughput,
-            throughputs, totalOps, durations
+            runs, avgThroughput, stdDev,
+            StatsUtil.min(throughputs, runs), StatsUtil.max(throughputs, runs),
+            avgThroughput - halfWidth, avgThroughput + halfWidth,
+            StatsUtil.isBimodal(throughputs, runs),
+            warmupTotal / runs, warmupMaxSeconds > 0 && allSteady,
+            prefillTotal / runs, maxDepth,
+            Arrays.copyOf(throughputs, runs), Arrays.copyOf(totalOps, runs),
+            Arrays.copyOf(durations, runs),
+            avgDepthRuns == 0 ? -1 : avgDepthTotal / avgDepthRuns,
+            new ArrayList<>(lockStats.values()), cacheStats,
+            memoryAccounting ? MemoryMetrics.average(memory, runs) : null,
+            timelines, jfrSummary
         );
     }
 
     public PerformanceMetrics run() throws InterruptedException {
-        return runSingle(dsFactory.get());
+        ConcurrentSet ds = dsFactory.get();
+        try {
+            return runSingle(ds, traceRecordDir);
+        } finally {
+            close(ds);
+        }
     }
 
-    private PerformanceMetrics runSingle(ConcurrentSet dataStructure) throws InterruptedException {
-        // 1) Prefill
-        int prefillCount = (totalElements * prefillPercentage) / 100;
-        for (int i = 0; i < prefillCount; i++) {
-            dataStructure.insert(i);
+    // Stops background threads of structures such as RelaxedAVL once a run is done with them
+    static void close(ConcurrentSet ds) {
+        if (!(ds instanceof AutoCloseable)) return;
+        try {
+            ((AutoCloseable) ds).close();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot close " + ds.getClass().getSimpleName(), e);
         }
+    }
+
+    private PerformanceMetrics runSingle(ConcurrentSet dataStructure, Path traceDir) throws InterruptedException {
+        // 1) Prefill
+        if (prefillMode == PrefillMode.SNAPSHOT) writeSnapshot();
+        long heapBefore = memoryAccounting ? MemoryProbe.heapUsedAfterGc() : 0;
+        BenchmarkPhaseEvent phase = beginPhase("prefill", dataStructure);
+        long prefillStart = System.nanoTime();
+        int prefillCount = prefill(dataStructure);
+        phase.commit();
+        double prefillSeconds = (System.nanoTime() - prefillStart) / 1_000_000_000.0;
+        int depth = dataStructure.maxDepth();
+        long heapAfterPrefill = memoryAccounting ? MemoryProbe.heapUsedAfterGc() : 0;
 
         // 2) Setup
-        AtomicLong opCount = new AtomicLong(0);
+        RecordingSet recorder = null;
+        if (traceDir != null) {
+            try {
+                recorder = new RecordingSet(dataStructure, traceDir, totalElements, prefillPercentage,
+                        prefillMode.ordinal());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        ConcurrentSet target = recorder != null ? recorder : dataStructure;
+        boolean replay = replayTraces != null;
+        int clients = replay ? replayTraces.size() : numThreads;
+        History history = stressOpsPerClient > 0 && !replay
+                ? new History(clients, stressOpsPerClient, prefillCount) : null;
+
+        boolean sampleSlowOps = recordingFile != null;
+        AtomicLongArray counters = new AtomicLongArray(clients * COUNTER_PAD);
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicLong replayStart = new AtomicLong();
         CountDownLatch startLatch = new CountDownLatch(1);
-        CountDownLatch endLatch = new CountDownLatch(numThreads);
+        CountDownLatch endLatch = new CountDownLatch(clients);
+        boolean pin = placementCpus.length > 0 && executionMode == ExecutionMode.PLATFORM;
+        AtomicInteger pinFailures = new AtomicInteger();
 
-        long durationNanos = durationSeconds * 1_000_000_000L;
+        Thread.Builder builder = executionMode == ExecutionMode.VIRTUAL
+                ? Thread.ofVirtual().name("client-", 0)
+                : Thread.ofPlatform().name("worker-", 0);
 
-        Thread[] threads = new Thread[numThreads];
-        
-        for (int i = 0; i < numThreads; i++) {
-            threads[i] = new Thread(() -> {
+        for (int i = 0; i < clients; i++) {
+            final int index = i;
+            final int slot = i * COUNTER_PAD;
+            builder.start(() -> {
                 ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                if (pin && !ThreadAffinity.pinCurrentThread(placementCpus[index % placementCpus.length])) {
+                    pinFailures.incrementAndGet();
+                }
                 try {
                     startLatch.await();
                 } catch (InterruptedException e) {
@@ -114,65 +447,308 @@ public class BenchmarkRunner {
                     return;
                 }
 
-                long endTime = System.nanoTime() + durationNanos;
                 long localOps = 0;
 
-                while (System.nanoTime() < endTime) {
-                    int key = rnd.nextInt(totalElements);
-                    int op = rnd.nextInt(100);
+                try {
+                    if (replay) {
+                        replay(target, replayTraces.get(index), replayStart.get(), slot, counters, stop);
+                        return;
+                    }
+                    if (history != null) {
+                        stress(target, history.buffer(index), rnd, slot, counters, stop);
+                        return;
+                    }
+                    ZipfianGenerator keys = zipfian;
+                    while (!stop.get()) {
+                        int key = keys != null ? keys.next(rnd) : rnd.nextInt(totalElements);
+                        int op = rnd.nextInt(100);
 
-                    if (op < containsPercent) {
-                        dataStructure.contains(key);
-                    } else if (op < containsPercent + insertPercent) {
-                        dataStructure.insert(key);
-                    } else {
-                        dataStructure.remove(key);
+                        if (sampleSlowOps && (localOps & SLOW_OP_SAMPLE_MASK) == 0) {
+                            SlowOperationEvent event = new SlowOperationEvent();
+                            event.begin();
+                            apply(target, op, key);
+                            event.end();
+                            if (event.shouldCommit()) {
+                                event.operation = opName(op);
+                                event.key = key;
+                                event.commit();
+                            }
+                        } else {
+                            apply(target, op, key);
+                        }
+                        counters.lazySet(slot, ++localOps);
+                        if (thinkNanos > 0) LockSupport.parkNanos(thinkNanos);
                     }
-                    localOps++;
+                } finally {
+                    // A failing operation must not leave the controller waiting forever
+                    endLatch.countDown();
                 }
-                
-                opCount.addAndGet(localOps);
-                endLatch.countDown();
             });
-            threads[i].start();
         }
 
+        if (recorder != null) recorder.start();
+        // Replay clients are held back until the measured phase starts
+        if (!replay) startLatch.countDown();
+
+        // 3) Warmup until throughput stabilises
+        double warmupSeconds = 0;
+        boolean steady = false;
+        if (warmupMaxSeconds > 0 && !replay && history == null) {
+            phase = beginPhase("warmup", dataStructure);
+            long warmupStart = System.nanoTime();
+            long warmupDeadline = warmupStart + (long) (warmupMaxSeconds * 1_000_000_000L);
+            long prevOps = sumCounters(counters);
+            long prevTime = warmupStart;
+            double prevRate = -1;
+            int stableIntervals = 0;
+
+            while (System.nanoTime() < warmupDeadline) {
+                Thread.sleep(warmupIntervalMillis);
+                long ops = sumCounters(counters);
+                long now = System.nanoTime();
+                double rate = (ops - prevOps) / ((now - prevTime) / 1_000_000_000.0);
+
+                if (prevRate > 0 && Math.abs(rate - prevRate) / prevRate < steadyStateThreshold) {
+                    stableIntervals++;
+                } else {
+                    stableIntervals = 0;
+                }
+                if (stableIntervals >= STEADY_INTERVALS) {
+                    steady = true;
+                    break;
+                }
+                prevOps = ops;
+                prevTime = now;
+                prevRate = rate;
+            }
+            warmupSeconds = (System.nanoTime() - warmupStart) / 1_000_000_000.0;
+            phase.commit();
+        }
+
+        // 4) Measure
+        if (LockStats.ENABLED) LockStats.reset();
+        CachedSet cache = dataStructure instanceof CachedSet ? (CachedSet) dataStructure : null;
+        if (cache != null) cache.resetStats();
+        MemoryProbe.Snapshot memStart = memoryAccounting ? MemoryProbe.snapshot() : null;
+        phase = beginPhase("measure", dataStructure);
+        TimelineSampler sampler = timelineIntervalMillis > 0
+                ? new TimelineSampler(counters, COUNTER_PAD, timelineIntervalMillis,
+                        Math.max(durationSeconds, replaySpanSeconds()) + 1)
+                : null;
+        long startOps = sumCounters(counters);
         long start = System.nanoTime();
-        startLatch.countDown();
-        endLatch.await();
+        if (sampler != null) sampler.begin(start, startOps);
+        if (replay) {
+            replayStart.set(start);
+            startLatch.countDown();
+            endLatch.await();
+        } else if (history != null) {
+            // Ends early once every client has filled its history
+            endLatch.await(durationSeconds, TimeUnit.SECONDS);
+        } else {
+            TimeUnit.SECONDS.sleep(durationSeconds);
+        }
+        long endOps = sumCounters(counters);
         long end = System.nanoTime();
+        CacheStats cacheStats = cache != null ? cache.stats() : null;
+        ThroughputTimeline timeline = sampler != null ? sampler.finish(dipFraction) : null;
+        phase.commit();
+        MemoryProbe.Snapshot memEnd = memoryAccounting ? MemoryProbe.snapshot() : null;
 
-        long totalOps = opCount.get();
+        stop.set(true);
+        endLatch.await();
+        // Shape after the measured updates, e.g. whether background rebalancing kept up
+        double avgDepth = dataStructure.averageDepth();
+        if (pinFailures.get() > 0) {
+            System.err.println("  Warning: " + pinFailures.get() + " workers could not be pinned");
+        }
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long totalOps = endOps - startOps;
         double actualSeconds = (end - start) / 1_000_000_000.0;
         double throughput = totalOps / actualSeconds;
 
-        return new PerformanceMetrics(totalOps, actualSeconds, throughput);
+        MemoryMetrics memory = null;
+        if (memoryAccounting) {
+            long heapAfter = MemoryProbe.heapUsedAfterGc();
+            memory = new MemoryMetrics(
+                    totalOps == 0 ? 0 : (double) memEnd.allocatedSince(memStart) / totalOps,
+                    prefillCount == 0 ? 0 : (double) (heapAfterPrefill - heapBefore) / prefillCount,
+                    memEnd.gcCountSince(memStart), memEnd.gcMillisSince(memStart),
+                    heapBefore, heapAfterPrefill, heapAfter);
+        }
+        return new PerformanceMetrics(totalOps, actualSeconds, throughput,
+                warmupSeconds, steady, prefillSeconds, depth, avgDepth,
+                LockStats.ENABLED ? LockStats.snapshot() : Collections.emptyList(),
+                memory, timeline, cacheStats, history);
     }
 
-    private double average(double[] values) {
-        double sum = 0;
-        for (double v : values) sum += v;
-        return sum / values.length;
+    // Issues one client's recorded operations in order, optionally at their recorded offsets
+    private void replay(ConcurrentSet dataStructure, TraceReader trace, long startNanos, int slot,
+                        AtomicLongArray counters, AtomicBoolean stop) {
+        boolean paced = replayPacing == ReplayPacing.TIMESTAMP;
+        int n = trace.size();
+        for (int i = 0; i < n && !stop.get(); i++) {
+            if (paced) {
+                long wait;
+                while ((wait = startNanos + trace.nanos(i) - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            int key = trace.key(i);
+            switch (trace.op(i)) {
+                case TraceFormat.OP_INSERT: dataStructure.insert(key); break;
+                case TraceFormat.OP_REMOVE: dataStructure.remove(key); break;
+                default: dataStructure.contains(key); break;
+            }
+            counters.lazySet(slot, i + 1);
+        }
     }
 
-    private double standardDeviation(double[] values, double mean) {
-        double sumSquares = 0;
-        for (double v : values) {
-            sumSquares += (v - mean) * (v - mean);
+    // The random operation mix, recording each operation; one clock read per operation
+    private void stress(ConcurrentSet dataStructure, HistoryBuffer history, ThreadLocalRandom rnd, int slot,
+                        AtomicLongArray counters, AtomicBoolean stop) {
+        ZipfianGenerator keys = zipfian;
+        long localOps = 0;
+        history.mark(System.nanoTime());
+        while (!stop.get() && !history.isFull()) {
+            int key = keys != null ? keys.next(rnd) : rnd.nextInt(totalElements);
+            int op = rnd.nextInt(100);
+            boolean result = apply(dataStructure, op, key);
+            history.record(opCode(op), key, result, System.nanoTime());
+            counters.lazySet(slot, ++localOps);
+            if (thinkNanos > 0) {
+                LockSupport.parkNanos(thinkNanos);
+                history.mark(System.nanoTime());
+            }
         }
-        return Math.sqrt(sumSquares / values.length);
     }
 
-    private double min(double[] values) {
-        double m = values[0];
-        for (double v : values) if (v < m) m = v;
-        return m;
+    private int replaySpanSeconds() {
+        if (replayTraces == null || replayPacing != ReplayPacing.TIMESTAMP) return 0;
+        long span = 0;
+        for (TraceReader t : replayTraces) span = Math.max(span, t.spanNanos());
+        return (int) (span / 1_000_000_000L) + 1;
     }
 
-    private double max(double[] values) {
-        double m = values[0];
-        for (double v : values) if (v > m) m = v;
-        return m;
+    private boolean apply(ConcurrentSet dataStructure, int op, int key) {
+        if (op < containsPercent) {
+            return dataStructure.contains(key);
+        } else if (op < containsPercent + insertPercent) {
+            return dataStructure.insert(key);
+        } else {
+            return dataStructure.remove(key);
+        }
+    }
+
+    private byte opCode(int op) {
+        if (op < containsPercent) return TraceFormat.OP_CONTAINS;
+        return op < containsPercent + insertPercent ? TraceFormat.OP_INSERT : TraceFormat.OP_REMOVE;
+    }
+
+    private String opName(int op) {
+        if (op < containsPercent) return "contains";
+        return op < containsPercent + insertPercent ? "insert" : "remove";
+    }
+
+    private BenchmarkPhaseEvent beginPhase(String name, ConcurrentSet dataStructure) {
+        BenchmarkPhaseEvent event = new BenchmarkPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = name;
+            event.structure = dataStructure.getClass().getSimpleName();
+            event.workload = new Workload(containsPercent, insertPercent,
+                    100 - containsPercent - insertPercent).toString();
+            event.threads = numThreads;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Writes the prefill keys to the snapshot file through a bulk-loaded structure, once per
+     * runner. Returns the seconds taken, 0 if the snapshot already exists.
+     */
+    double writeSnapshot() {
+        if (snapshotWritten) return 0;
+        try {
+            if (snapshotFile == null) {
+                snapshotFile = Files.createTempFile("prefill-", ".snapshot");
+                snapshotFile.toFile().deleteOnExit();
+            }
+            int prefillCount = (totalElements * prefillPercentage) / 100;
+            int[] keys = new int[prefillCount];
+            for (int i = 0; i < prefillCount; i++) keys[i] = i;
+            ConcurrentSet source = dsFactory.get();
+            source.bulkLoad(keys);
+            long start = System.nanoTime();
+            source.snapshotTo(snapshotFile);
+            close(source);
+            snapshotWritten = true;
+            return (System.nanoTime() - start) / 1_000_000_000.0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Returns the number of keys prefilled
+    int prefill(ConcurrentSet dataStructure) throws InterruptedException {
+        int prefillCount = (totalElements * prefillPercentage) / 100;
+        if (prefillMode == PrefillMode.SNAPSHOT) {
+            try {
+                dataStructure.restoreFrom(snapshotFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return prefillCount;
+        }
+        int[] keys = new int[prefillCount];
+        for (int i = 0; i < prefillCount; i++) keys[i] = i;
+
+        if (prefillMode == PrefillMode.BULK) {
+            dataStructure.bulkLoad(keys);
+            return prefillCount;
+        }
+        if (prefillMode == PrefillMode.RANDOM) {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            for (int i = prefillCount - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int tmp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = tmp;
+            }
+        }
+
+        int threads = Math.min(prefillThreads, Math.max(1, prefillCount));
+        if (threads == 1) {
+            for (int key : keys) dataStructure.insert(key);
+            return prefillCount;
+        }
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) prefillCount * t / threads);
+            int to = (int) ((long) prefillCount * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                for (int i = from; i < to; i++) dataStructure.insert(keys[i]);
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+        return prefillCount;
+    }
+
+    private static long sumCounters(AtomicLongArray counters) {
+        long sum = 0;
+        for (int i = 0; i < counters.length(); i += COUNTER_PAD) {
+            sum += counters.get(i);
+        }
+        return sum;
     }
 
     // Aggregate metrics class for multiple runs
@@ -182,38 +758,94 @@ public class BenchmarkRunner {
         private final double stdDev;
         private final double minThroughput;
         private final double maxThroughput;
+        private final double ciLower;
+        private final double ciUpper;
+        private final boolean bimodal;
+        private final double avgWarmupSeconds;
+        private final boolean steadyState;
+        private final double avgPrefillSeconds;
+        private final int depth;
         private final double[] allThroughputs;
         private final long[] allTotalOps;
         private final double[] allDurations;
+        private final double avgDepth;
+        private final List<LockGroupStats> lockStats;
+        private final CacheStats cacheStats;
+        private final MemoryMetrics memory;
+        private final List<ThroughputTimeline> timelines;
+        private final JfrSummary jfr;
 
         public AggregateMetrics(int numRuns, double avgThroughput, double stdDev,
                                 double minThroughput, double maxThroughput,
-                                double[] allThroughputs, long[] allTotalOps, double[] allDurations) {
+                                double ciLower, double ciUpper, boolean bimodal,
+                                double avgWarmupSeconds, boolean steadyState,
+                                double avgPrefillSeconds, int depth,
+                                double[] allThroughputs, long[] allTotalOps, double[] allDurations,
+                                double avgDepth, List<LockGroupStats> lockStats, CacheStats cacheStats,
+                                MemoryMetrics memory, List<ThroughputTimeline> timelines, JfrSummary jfr) {
             this.numRuns = numRuns;
             this.avgThroughput = avgThroughput;
             this.stdDev = stdDev;
             this.minThroughput = minThroughput;
             this.maxThroughput = maxThroughput;
+            this.ciLower = ciLower;
+            this.ciUpper = ciUpper;
+            this.bimodal = bimodal;
+            this.avgWarmupSeconds = avgWarmupSeconds;
+            this.steadyState = steadyState;
+            this.avgPrefillSeconds = avgPrefillSeconds;
+            this.depth = depth;
             this.allThroughputs = allThroughputs;
             this.allTotalOps = allTotalOps;
             this.allDurations = allDurations;
+            this.avgDepth = avgDepth;
+            this.lockStats = Collections.unmodifiableList(lockStats);
+            this.cacheStats = cacheStats;
+            this.memory = memory;
+            this.timelines = Collections.unmodifiableList(timelines);
+            this.jfr = jfr;
         }
 
         public int getNumRuns() { return numRuns; }
         public double getAvgThroughput() { return avgThroughput; }
+        // Sample (n - 1) standard deviation of per-run throughput
         public double getStdDev() { return stdDev; }
         public double getMinThroughput() { return minThroughput; }
         public double getMaxThroughput() { return maxThroughput; }
+        // 95% confidence interval of mean throughput (infinite with a single run)
+        public double getCiLower() { return ciLower; }
+        public double getCiUpper() { return ciUpper; }
+        // Per-run throughputs look bimodal (Sarle's coefficient > 5/9); false with fewer than 4 runs
+        public boolean isBimodal() { return bimodal; }
+        public double getAvgWarmupSeconds() { return avgWarmupSeconds; }
+        // Every run's warmup reached steady state before its time cap
+        public boolean isSteadyState() { return steadyState; }
+        public double getAvgPrefillSeconds() { return avgPrefillSeconds; }
+        // Largest post-prefill longest search path over all runs
+        public int getDepth() { return depth; }
+        // Mean search path to a present key after each run, averaged (-1 if not tracked)
+        public double getAvgDepth() { return avgDepth; }
         public double[] getAllThroughputs() { return allThroughputs; }
         public long[] getAllTotalOps() { return allTotalOps; }
         public double[] getAllDurations() { return allDurations; }
+        // Lock contention summed over all runs (empty unless -Dds.lockStats=true)
+        public List<LockGroupStats> getLockStats() { return lockStats; }
+        // Memory metrics averaged over runs (null unless memory accounting is on)
+        public MemoryMetrics getMemory() { return memory; }
+        // Summary of the cell's flight recording (null unless flight recording is on)
+        public JfrSummary getJfr() { return jfr; }
+        // One timeline per run (empty unless the timeline sampler is on)
+        public List<ThroughputTimeline> getTimelines() { return timelines; }
+        // Lookaside cache counters summed over runs (null unless the structure is a CachedSet)
+        public CacheStats getCacheStats() { return cacheStats; }
 
         @Override
         public String toString() {
             return String.format(
-                "Runs=%d, Avg=%.2f ops/sec, StdDev=%.2f, Min=%.2f, Max=%.2f",
-                numRuns, avgThroughput, stdDev, minThroughput, maxThroughput
+                "Runs=%d, Avg=%.2f ops/sec, StdDev=%.2f, CI95=[%.2f, %.2f], Min=%.2f, Max=%.2f%s",
+                numRuns, avgThroughput, stdDev, ciLower, ciUpper, minThroughput, maxThroughput,
+                bimodal ? " (BIMODAL)" : ""
             );
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.concurrent.benchmark;
+
+/**
+ * Kind of thread that runs each benchmark client.
+ */
+public enum ExecutionMode {
+    /** One platform (OS) thread per client. */
+    PLATFORM,
+    /** One virtual thread per client, multiplexed over the carrier thread pool. */
+    VIRTUAL
+}
@@ -0,0 +1,87 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retained heap per key: fills a fresh structure with N distinct keys by individual inserts
+ * (so resize slack and per-node locks are included) and measures the live heap delta after
+ * forced GCs. Repeated and reported as the median to absorb GC noise.
+ */
+final class FootprintBenchmark {
+
+    private final int keys;
+    private final int repeats;
+
+    FootprintBenchmark(int keys, int repeats) {
+        this.keys = keys;
+        this.repeats = repeats;
+    }
+
+    /** Median retained bytes of one filled structure, including the structure itself. */
+    double measure(Supplier<ConcurrentSet> factory) throws InterruptedException {
+        int[] order = shuffledKeys();
+        double[] retained = new double[repeats];
+        for (int r = 0; r < repeats; r++) {
+            long before = MemoryProbe.heapUsedAfterGc();
+            ConcurrentSet ds = factory.get();
+            for (int key : order) ds.insert(key);
+            long after = MemoryProbe.heapUsedAfterGc();
+            Reference.reachabilityFence(ds);
+            BenchmarkRunner.close(ds);
+            retained[r] = after - before;
+            ds = null; // otherwise still referenced while the next repeat samples its baseline
+        }
+        return StatsUtil.median(retained, repeats);
+    }
+
+    /**
+     * Measures every structure and writes {@code DataStructure,Keys,RetainedBytes,BytesPerKey,Original,VsOriginalPct}.
+     * {@code originals} maps a variant to the structure it is compared against.
+     */
+    void run(String[] structures, Function<String, ConcurrentSet> factory,
+             Map<String, String> originals, String csvFile) throws IOException, InterruptedException {
+        Map<String, Double> perKey = new LinkedHashMap<>();
+        CSVWriterUtil csv = new CSVWriterUtil(csvFile);
+        csv.writeHeader("DataStructure,Keys,RetainedBytes,BytesPerKey,Original,VsOriginalPct");
+        for (String name : structures) {
+            double bytes = measure(() -> factory.apply(name));
+            double bpk = bytes / keys;
+            perKey.put(name, bpk);
+
+            String original = originals.getOrDefault(name, "");
+            Double base = perKey.get(original);
+            if (base == null && !original.isEmpty()) {
+                base = measure(() -> factory.apply(original)) / keys;
+                perKey.put(original, base);
+            }
+            String vs = base == null ? "" : String.format("%.1f", 100 * (bpk - base) / base);
+            System.out.printf("  %-18s %10.0f bytes  %7.1f B/key%s%n", name, bytes, bpk,
+                    base == null ? "" : "  (" + vs + "% vs " + original + ")");
+            csv.writeRow(String.format("%s,%d,%.0f,%.2f,%s,%s", name, keys, bytes, bpk, original, vs));
+        }
+        csv.close();
+    }
+
+    private int[] shuffledKeys() {
+        int[] order = new int[keys];
+        for (int i = 0; i < keys; i++) order[i] = i;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = keys - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+}
@@ -1,7 +1,35 @@
 package com.concurrent.benchmark;
 
+import com.concurrent.affinity.CpuTopology;
+import com.concurrent.affinity.PlacementMode;
+import com.concurrent.affinity.ThreadAffinity;
+import com.concurrent.analysis.ScalabilityAnalyzer;
+import com.concurrent.analysis.ScalingCurve;
 import com.concurrent.datastructures.*;
+import com.concurrent.jfr.JfrSummary;
+import com.concurrent.locks.LockGroupStats;
+import com.concurrent.locks.LockKind;
+import com.concurrent.results.CellResult;
+import com.concurrent.results.ResultsStore;
+import com.concurrent.results.ResultsTool;
+import com.concurrent.results.RunMetadata;
+import com.concurrent.stress.LinearizabilityChecker;
+import com.concurrent.trace.TraceReader;
 import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public class Main {
 
@@ -9,8 +37,61 @@ public class Main {
     private static final int PREFILL_PERCENT = 50;
     private static final int DURATION_SECONDS = 10;
 
+    // Runs per cell: repeat until the 95% CI is within TARGET_CI_PERCENT of the mean
+    private static final int MIN_RUNS = 4;
+    private static final int MAX_RUNS = 10;
+    private static final double TARGET_CI_PERCENT = 2.0;
+
+    // Warmup: stop once interval throughput changes by less than 2%, or after 20 s
+    private static final double WARMUP_MAX_SECONDS = 20;
+    private static final int WARMUP_INTERVAL_MILLIS = 500;
+    private static final double STEADY_STATE_THRESHOLD = 0.02;
+
+    // Random-order parallel prefill keeps the unbalanced BST at logarithmic depth
+    private static final PrefillMode PREFILL_MODE = PrefillMode.RANDOM;
+    private static final int PREFILL_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // Timeline intervals below this fraction of the median interval are flagged
+    private static final double DIP_FRACTION = 0.5;
+
     private static final int[] THREADS = {1, 2, 4, 6, 8, 10, 12, 14, 16};
 
+    // Logical clients swept in virtual-thread mode
+    private static final int[] VIRTUAL_CLIENTS = {1_000, 10_000, 100_000};
+
+    // Timed sweep and replay default: 5 structures x 5 workloads x 9 thread counts is 225 cells
+    // of up to 20 s warmup plus 4-10 runs of 10 s each, roughly 4-8 hours
+    private static final String[] STRUCTURES = {"BST", "AVL", "Treap", "Striped", "Refinable"};
+
+    // Everything getDS knows (--ds all); the footprint, startup, scan and stress modes are
+    // short enough to cover all of them by default
+    private static final String[] ALL_STRUCTURES = {"BST", "AVL", "Treap", "Striped", "Refinable",
+            "CompactBST", "CompactStriped", "CompactRefinable",
+            "CHMKeySet", "SkipListSet", "SyncHashSet", "StampedTreeSet",
+            "CachedBST", "CachedAVL", "CachedTreap", "RelaxedAVL"};
+
+    // Compact-layout variants and the structure each is compared against
+    private static final Map<String, String> ORIGINALS = Map.of(
+            "CompactBST", "BST",
+            "CompactStriped", "Striped",
+            "CompactRefinable", "Refinable");
+
+    // Structures built from a LockFactory; the others keep their own locks across a --locks sweep
+    // (the AVL and Treap global locks, CompactBST's inline lock words, the JDK baselines)
+    private static final Set<String> LOCK_STRATEGY_STRUCTURES = Set.of("BST", "Striped", "Refinable",
+            "CompactStriped", "CompactRefinable", "RelaxedAVL");
+
+    // Footprint and startup modes: median of this many fills per structure
+    private static final int FOOTPRINT_REPEATS = 3;
+    private static final int STARTUP_REPEATS = 3;
+    private static final int SCAN_REPEATS = 3;
+
+    // Stress mode: few keys and several clients, so operations collide on the same keys
+    private static final int STRESS_ELEMENTS = 256;
+    private static final int[] STRESS_THREADS = {2, 8};
+    // Violations printed per cell; all of them are counted in the CSV
+    private static final int STRESS_LISTED_VIOLATIONS = 3;
+
     private static final Workload[] WORKLOADS = {
             new Workload(100, 0, 0),
             new Workload(90, 9, 1),
@@ -19,55 +100,574 @@ public class Main {
             new Workload(0, 50, 50)
     };
 
-    private static ConcurrentSet getDS(String name) {
+    static ConcurrentSet getDS(String name) {
         switch (name) {
             case "BST": return new ConcurrentBST();
             case "AVL": return new ConcurrentAVL();
             case "Treap": return new ConcurrentTreap();
             case "Striped": return new StripedHashSet(1024);
             case "Refinable": return new RefinableHashSet(1024);
+            case "CompactBST": return new CompactBST();
+            case "CompactStriped": return new CompactStripedHashSet(1024);
+            case "CompactRefinable": return new CompactRefinableHashSet(1024);
+            // java.util baselines
+            case "CHMKeySet": return JdkSetAdapter.concurrentHashSet();
+            case "SkipListSet": return JdkSetAdapter.skipListSet();
+            case "SyncHashSet": return JdkSetAdapter.synchronizedHashSet();
+            case "StampedTreeSet": return new StampedTreeSet();
+            // Trees behind a hot-key lookaside cache
+            case "CachedBST": return new CachedSet(new ConcurrentBST());
+            case "CachedAVL": return new CachedSet(new ConcurrentAVL());
+            case "CachedTreap": return new CachedSet(new ConcurrentTreap());
+            // Rebalanced by a background thread; closed by the runner
+            case "RelaxedAVL": return new RelaxedAVL();
             default: throw new IllegalArgumentException("Unknown DS: " + name);
         }
     }
 
+    static ConcurrentSet getDS(String name, LockKind locks) {
+        switch (name) {
+            case "BST": return new ConcurrentBST(locks);
+            case "Striped": return new StripedHashSet(1024, locks);
+            case "Refinable": return new RefinableHashSet(1024, locks);
+            case "CompactStriped": return new CompactStripedHashSet(1024, locks);
+            case "CompactRefinable": return new CompactRefinableHashSet(1024, locks);
+            case "RelaxedAVL": return new RelaxedAVL(locks);
+            default: return getDS(name);
+        }
+    }
+
+    // "Striped" for the default ReentrantLock, "Striped-mcs" etc. for the other strategies
+    private static String label(String name, LockKind locks) {
+        return locks == LockKind.REENTRANT ? name : name + "-" + locks.name().toLowerCase();
+    }
+
+    /**
+     * Options (all optional): --ds BST,AVL|all  --workload 90C-9I-1D  --threads 1,2,4
+     * --mode platform|virtual  --think-micros N  --lock-stats  --memory
+     * --elements N  --duration SECONDS  --max-runs N  --warmup-seconds SECONDS
+     * --jfr  --slow-op-micros N  --timeline-ms N  --dip-fraction F
+     * --store FILE (default results/history.cdsr)  --no-store
+     * --record DIR  --replay DIR  --pacing fast|timestamp
+     * --placement none|compact|scatter|socket-local  --footprint KEYS
+     * --prefill ascending|random|bulk|snapshot  --startup KEYS  --box-cache
+     * --locks reentrant,ttas,mcs,clh,cohort  --zipf THETA
+     * --scan KEYS  --scan-parallelism 1,2,4  --scan-updaters N  --stress OPS_PER_CLIENT
+     */
     public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
 
-        String[] structures = {"BST", "AVL", "Treap", "Striped", "Refinable"};
+        // Must be set before the first structure initialises LockStats
+        boolean lockStats = opts.containsKey("lock-stats") || Boolean.getBoolean("ds.lockStats");
+        if (lockStats) System.setProperty("ds.lockStats", "true");
 
-        for (String dsName : structures) {
-            for (Workload wl : WORKLOADS) {
+        ExecutionMode mode = ExecutionMode.valueOf(opts.getOrDefault("mode", "platform").toUpperCase());
+        if (opts.containsKey("record") && mode == ExecutionMode.VIRTUAL) {
+            // Each recording client owns a trace file and a 64 KB direct buffer
+            throw new IllegalArgumentException(
+                    "--record needs --mode platform: each of up to 100k virtual clients would get its own trace file");
+        }
+        long thinkMicros = Long.parseLong(opts.getOrDefault("think-micros", "0"));
+
+        int totalElements = Integer.parseInt(opts.getOrDefault("elements", String.valueOf(TOTAL_ELEMENTS)));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", String.valueOf(DURATION_SECONDS)));
+        int maxRuns = Integer.parseInt(opts.getOrDefault("max-runs", String.valueOf(MAX_RUNS)));
+        double warmupSeconds = Double.parseDouble(opts.getOrDefault("warmup-seconds", String.valueOf(WARMUP_MAX_SECONDS)));
 
-                String csvFile = "results/" + dsName + "_" + wl + ".csv";
+        String dsOption = opts.get("ds");
+        String[] structures = structures(dsOption, ALL_STRUCTURES);
+
+        // Boxed keys for the java.util baselines; preallocated so boxing does not count as allocation
+        boolean boxCache = opts.containsKey("box-cache");
+        if (boxCache) BoxCache.enable(totalElements);
+
+        if (opts.containsKey("footprint")) {
+            int keys = Integer.parseInt(opts.get("footprint"));
+            System.out.println("Footprint of " + keys + " keys per structure");
+            new FootprintBenchmark(keys, FOOTPRINT_REPEATS)
+                    .run(structures, Main::getDS, ORIGINALS, "results/footprint_" + keys + ".csv");
+            return;
+        }
+        if (opts.containsKey("startup")) {
+            int keys = Integer.parseInt(opts.get("startup"));
+            System.out.println("Startup of " + keys + " keys per structure: insert vs bulk vs snapshot restore");
+            new StartupBenchmark(keys, STARTUP_REPEATS, PREFILL_THREADS)
+                    .run(structures, Main::getDS, Paths.get("results", "snapshots"), "results/startup_" + keys + ".csv");
+            return;
+        }
+        if (opts.containsKey("scan")) {
+            int keys = Integer.parseInt(opts.get("scan"));
+            int[] parallelism = opts.containsKey("scan-parallelism")
+                    ? parseInts(opts.get("scan-parallelism")) : powersOfTwoUpTo(Runtime.getRuntime().availableProcessors());
+            int updaters = Integer.parseInt(opts.getOrDefault("scan-updaters", "1"));
+            System.out.println("Parallel scans of " + keys + " keys per structure with " + updaters + " updater thread(s)");
+            new ScanBenchmark(keys, parallelism, updaters, SCAN_REPEATS)
+                    .run(structures, Main::getDS, "results/scan_" + keys + ".csv");
+            return;
+        }
+        PrefillMode prefillMode = opts.containsKey("prefill")
+                ? PrefillMode.valueOf(opts.get("prefill").toUpperCase()) : PREFILL_MODE;
+        Workload[] workloads = WORKLOADS;
+        if (opts.containsKey("workload")) {
+            String[] names = opts.get("workload").split(",");
+            workloads = new Workload[names.length];
+            for (int i = 0; i < names.length; i++) workloads[i] = Workload.parse(names[i]);
+        }
+        int[] threads = mode == ExecutionMode.VIRTUAL ? VIRTUAL_CLIENTS : THREADS;
+        if (opts.containsKey("threads")) threads = parseInts(opts.get("threads"));
+
+        boolean jfr = opts.containsKey("jfr");
+        // Forced GCs around every run add seconds per run, so memory accounting is opt-in
+        boolean memory = opts.containsKey("memory");
+        Duration slowOpThreshold = Duration.ofNanos(
+                1_000L * Long.parseLong(opts.getOrDefault("slow-op-micros", "1000")));
+
+        int timelineMillis = Integer.parseInt(opts.getOrDefault("timeline-ms", "0"));
+        double dipFraction = Double.parseDouble(opts.getOrDefault("dip-fraction", String.valueOf(DIP_FRACTION)));
+
+        // Skewed keys: 0 (default) is uniform, 0.99 is the YCSB Zipfian constant
+        double zipfTheta = Double.parseDouble(opts.getOrDefault("zipf", "0"));
+
+        if (opts.containsKey("stress")) {
+            int opsPerClient = Integer.parseInt(opts.get("stress"));
+            int keys = opts.containsKey("elements") ? totalElements : STRESS_ELEMENTS;
+            int[] clients = opts.containsKey("threads") ? threads : STRESS_THREADS;
+            stress(structures, workloads, clients, keys, opsPerClient, duration, zipfTheta);
+            return;
+        }
+
+        PlacementMode placement = PlacementMode.parse(opts.getOrDefault("placement", "none"));
+        int[] placementCpus = resolvePlacement(placement, mode);
+        if (placementCpus.length == 0) placement = PlacementMode.NONE;
+
+        String suffix = (mode == ExecutionMode.VIRTUAL ? "_virtual" : "")
+                + (placement != PlacementMode.NONE ? "_" + placement.name().toLowerCase() : "")
+                + (zipfTheta > 0 ? "_zipf" + zipfTheta : "");
+        int cells = 0;
+
+        // Every cell is appended as soon as it finishes, so an interrupted sweep keeps its results
+        ResultsStore store = opts.containsKey("no-store") ? null
+                : new ResultsStore(Paths.get(opts.getOrDefault("store", ResultsTool.DEFAULT_STORE.toString())));
+        Map<String, String> runConfig = new LinkedHashMap<>();
+        runConfig.put("elements", String.valueOf(totalElements));
+        runConfig.put("prefillPercent", String.valueOf(PREFILL_PERCENT));
+        runConfig.put("prefillMode", prefillMode.name());
+        runConfig.put("duration", String.valueOf(duration));
+        runConfig.put("maxRuns", String.valueOf(maxRuns));
+        runConfig.put("targetCiPercent", String.valueOf(TARGET_CI_PERCENT));
+        runConfig.put("warmupMaxSeconds", String.valueOf(warmupSeconds));
+        runConfig.put("lockStats", String.valueOf(lockStats));
+        runConfig.put("jfr", String.valueOf(jfr));
+        runConfig.put("memory", String.valueOf(memory));
+        runConfig.put("boxCache", String.valueOf(boxCache));
+        RunMetadata run = RunMetadata.capture(runConfig);
+        if (store != null) {
+            store.appendRun(run);
+            System.out.println("Run " + run.getRunId() + " (commit " + run.getGitCommit() + ") -> " + store.getPath());
+        }
+        Map<String, String> cellConfig = new LinkedHashMap<>();
+        cellConfig.put("mode", mode.name());
+        cellConfig.put("thinkMicros", String.valueOf(thinkMicros));
+        cellConfig.put("placement", placement.name());
+        cellConfig.put("zipf", String.valueOf(zipfTheta));
+
+        structures = structures(dsOption, STRUCTURES);
+        if (opts.containsKey("replay")) {
+            replay(Paths.get(opts.get("replay")), opts.getOrDefault("pacing", "fast"), structures,
+                    totalElements, prefillMode, maxRuns, mode, store, run);
+            return;
+        }
+        String recordDir = opts.get("record");
+        List<ScalingCurve> curves = new ArrayList<>();
+
+        // Lock strategy is a sweep dimension of the structures that accept a LockFactory
+        String[] lockNames = opts.getOrDefault("locks", "reentrant").split(",");
+        Map<String, Supplier<ConcurrentSet>> variants = new LinkedHashMap<>();
+        Map<String, Map<String, String>> variantConfigs = new HashMap<>();
+        for (String name : structures) {
+            if (!LOCK_STRATEGY_STRUCTURES.contains(name)) {
+                variants.put(name, () -> getDS(name));
+                variantConfigs.put(name, cellConfig);
+                continue;
+            }
+            for (String lockName : lockNames) {
+                LockKind locks = LockKind.parse(lockName);
+                Map<String, String> config = new LinkedHashMap<>(cellConfig);
+                config.put("locks", locks.name());
+                variants.put(label(name, locks), () -> getDS(name, locks));
+                variantConfigs.put(label(name, locks), config);
+            }
+        }
+
+        for (Map.Entry<String, Supplier<ConcurrentSet>> variant : variants.entrySet()) {
+            String dsName = variant.getKey();
+            Supplier<ConcurrentSet> dsFactory = variant.getValue();
+            for (Workload wl : workloads) {
+
+                String csvFile = "results/" + dsName + "_" + wl + suffix + ".csv";
+                boolean cached = dsName.startsWith("Cached");
                 CSVWriterUtil csv = new CSVWriterUtil(csvFile);
-                csv.writeHeader("Threads,TotalOps,Seconds,ThroughputOpsPerSec");
+                csv.writeHeader("Threads,Runs,ThroughputOpsPerSec,StdDev,CILower,CIUpper,Bimodal,WarmupSeconds,SteadyState,PrefillSeconds,Depth,AvgDepth"
+                        + (memory ? ",BytesPerOp,RetainedBytesPerElement,GcCount,GcPauseMs,HeapAfterMB" : "")
+                        + (jfr ? "," + JfrSummary.CSV_HEADER : "")
+                        + (cached ? ",CacheHitPct,CacheBypasses,CacheRejectedFills,CacheInvalidations" : ""));
 
-                for (int t : THREADS) {
+                CSVWriterUtil lockCsv = null;
+                if (lockStats) {
+                    lockCsv = new CSVWriterUtil("results/" + dsName + "_" + wl + suffix + "_locks.csv");
+                    lockCsv.writeHeader("Threads,Group,Acquisitions,ContendedPct,AvgWaitNanos,P50WaitNanos,P99WaitNanos,AvgHoldNanos,HottestStripe,HottestStripePct");
+                }
 
-                    System.out.println("Running " + dsName + " / " + wl + " / " + t + " threads");
+                double[] curve = new double[threads.length];
+                for (int ti = 0; ti < threads.length; ti++) {
+                    int t = threads[ti];
+
+                    System.out.println("Running " + dsName + " / " + wl + " / " + t
+                            + (mode == ExecutionMode.VIRTUAL ? " virtual clients" : " threads"));
 
                     BenchmarkRunner runner =
                             new BenchmarkRunner(
-                                    getDS(dsName),
-                                    TOTAL_ELEMENTS,
+                                    dsFactory,
+                                    totalElements,
                                     PREFILL_PERCENT,
                                     wl.containsPercent,
                                     wl.insertPercent,
                                     t,
-                                    DURATION_SECONDS
-                            );
+                                    duration,
+                                    maxRuns
+                            )
+                            .setWarmup(warmupSeconds, WARMUP_INTERVAL_MILLIS, STEADY_STATE_THRESHOLD)
+                            .setTargetConfidence(TARGET_CI_PERCENT, MIN_RUNS)
+                            .setPrefill(prefillMode, PREFILL_THREADS)
+                            .setExecution(mode, thinkMicros)
+                            .setMemoryAccounting(memory)
+                            .setTimeline(timelineMillis, dipFraction)
+                            .setPlacement(placementCpus)
+                            .setZipfian(zipfTheta);
+                    if (recordDir != null) {
+                        runner.setTraceRecording(Paths.get(recordDir, dsName + "_" + wl + suffix + "_" + t));
+                    }
+                    if (jfr) {
+                        runner.setFlightRecording(
+                                Paths.get("results", "jfr", dsName + "_" + wl + suffix + "_" + t + ".jfr"),
+                                slowOpThreshold);
+                    }
 
-                    PerformanceMetrics metrics = runner.run();
+                    BenchmarkRunner.AggregateMetrics metrics = runner.runMultiple();
+                    curve[ti] = metrics.getAvgThroughput();
+                    MemoryMetrics mem = metrics.getMemory();
+                    System.out.println("  " + metrics);
+                    if (mem != null) System.out.println("  " + mem);
+                    if (jfr) System.out.println("  jfr " + metrics.getJfr());
+                    CacheStats cache = metrics.getCacheStats();
+                    if (cache != null) System.out.println("  cache " + cache);
 
-                    csv.writeRow(String.format("%d,%d,%.6f,%.2f",
+                    csv.writeRow(String.format("%d,%d,%.2f,%.2f,%.2f,%.2f,%b,%.3f,%b,%.3f,%d,%.2f",
                             t,
-                            metrics.getTotalOps(),
-                            metrics.getSeconds(),
-                            metrics.getThroughput()
-                    ));
+                            metrics.getNumRuns(),
+                            metrics.getAvgThroughput(),
+                            metrics.getStdDev(),
+                            metrics.getCiLower(),
+                            metrics.getCiUpper(),
+                            metrics.isBimodal(),
+                            metrics.getAvgWarmupSeconds(),
+                            metrics.isSteadyState(),
+                            metrics.getAvgPrefillSeconds(),
+                            metrics.getDepth(),
+                            metrics.getAvgDepth()
+                    ) + (mem != null ? String.format(",%.2f,%.2f,%.1f,%.1f,%.1f",
+                            mem.getBytesPerOp(),
+                            mem.getRetainedBytesPerElement(),
+                            mem.getGcCount(),
+                            mem.getGcPauseMillis(),
+                            mem.getHeapAfterBytes() / (1024.0 * 1024.0)) : "")
+                      + (jfr ? "," + metrics.getJfr().toCsv() : "")
+                      + (cached ? String.format(",%.3f,%d,%d,%d", 100 * cache.getHitRate(),
+                            cache.getBypasses(), cache.getRejectedFills(), cache.getInvalidations()) : ""));
+                    if (lockCsv != null) writeLockStats(lockCsv, t, metrics);
+                    if (store != null) {
+                        store.appendCell(toCellResult(run.getRunId(), dsName, wl, t, variantConfigs.get(dsName), metrics));
+                    }
+                    if (timelineMillis > 0) {
+                        writeTimelines("results/" + dsName + "_" + wl + suffix + "_" + t + "_timeline.csv", metrics, dipFraction);
+                    }
+                    cells++;
+                }
+                csv.close();
+                if (lockCsv != null) lockCsv.close();
+                curves.add(new ScalingCurve(dsName, wl.toString(), threads, curve));
+            }
+        }
+
+        // USL/Amdahl fits need OS threads; virtual clients do not map to cores
+        if (mode == ExecutionMode.PLATFORM) ScalabilityAnalyzer.report(curves, Paths.get("results"));
+
+        System.out.println("=== FULL BENCHMARK COMPLETE (" + cells + " cells) ===");
+    }
+
+    // CPU order for the placement mode; empty (unpinned) if pinning is unavailable
+    private static int[] resolvePlacement(PlacementMode placement, ExecutionMode mode) {
+        if (placement == PlacementMode.NONE) return new int[0];
+        if (mode == ExecutionMode.VIRTUAL) {
+            System.err.println("Warning: --placement applies to platform threads only; running unpinned");
+            return new int[0];
+        }
+        if (!ThreadAffinity.isSupported()) {
+            System.err.println("Warning: thread pinning needs Linux /proc/thread-self and taskset; running unpinned");
+            return new int[0];
+        }
+        try {
+            CpuTopology topology = CpuTopology.detect();
+            int[] cpus = topology.order(placement);
+            // taskset fails for CPUs outside the affinity mask the JVM was started with
+            List<Integer> allowed = ThreadAffinity.currentAllowedCpus();
+            int[] usable = Arrays.stream(cpus).filter(allowed::contains).toArray();
+            if (usable.length == 0) {
+                System.err.println("Warning: none of CPUs " + Arrays.toString(cpus) + " is in this process's "
+                        + "affinity mask " + allowed + "; running unpinned");
+                return usable;
+            }
+            if (usable.length < cpus.length) {
+                System.err.println("Warning: skipping " + (cpus.length - usable.length)
+                        + " CPUs outside this process's affinity mask " + allowed);
+            }
+            System.out.println("Placement " + placement + " on " + topology + ": CPUs " + Arrays.toString(usable));
+            return usable;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: cannot read CPU topology (" + e.getMessage() + "); running unpinned");
+            return new int[0];
+        }
+    }
+
+    /**
+     * Runs every structure, workload and client count once with history recording on, then
+     * checks each history for per-key linearizability. Writes results/stress_<keys>.csv.
+     */
+    private static void stress(String[] structures, Workload[] workloads, int[] threads, int keys,
+                               int opsPerClient, int duration, double zipfTheta) throws Exception {
+        System.out.println("Stress: " + keys + " keys, up to " + opsPerClient + " recorded operations per client");
+        LinearizabilityChecker checker = new LinearizabilityChecker();
+        CSVWriterUtil csv = new CSVWriterUtil("results/stress_" + keys + ".csv");
+        csv.writeHeader("DataStructure,Workload,Threads,Operations,OpsPerSec,Keys,Segments,Violations,InconclusiveKeys,CheckSeconds");
+        int failed = 0;
+        for (String dsName : structures) {
+            for (Workload wl : workloads) {
+                for (int t : threads) {
+                    PerformanceMetrics metrics =
+                            new BenchmarkRunner(() -> getDS(dsName), keys, PREFILL_PERCENT,
+                                    wl.containsPercent, wl.insertPercent, t, duration, 1)
+                                    .setPrefill(PREFILL_MODE, PREFILL_THREADS)
+                                    .setZipfian(zipfTheta)
+                                    .setStress(opsPerClient)
+                                    .run();
+                    long start = System.nanoTime();
+                    LinearizabilityChecker.Report report = checker.check(metrics.getHistory());
+                    double checkSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                    System.out.printf("  %-18s %-12s %2d threads  %,12.0f ops/s  %s%n",
+                            dsName, wl, t, metrics.getThroughput(), report);
+                    List<LinearizabilityChecker.Violation> violations = report.getViolations();
+                    for (int i = 0; i < Math.min(STRESS_LISTED_VIOLATIONS, violations.size()); i++) {
+                        System.out.println("    " + violations.get(i));
+                    }
+                    if (!report.isLinearizable()) failed++;
+                    csv.writeRow(String.format("%s,%s,%d,%d,%.2f,%d,%d,%d,%d,%.3f",
+                            dsName, wl, t, report.getOperations(), metrics.getThroughput(), report.getKeys(),
+                            report.getSegments(), violations.size(), report.getInconclusiveKeys(), checkSeconds));
                 }
             }
         }
+        csv.close();
+        System.out.println(failed == 0 ? "All histories linearizable" : failed + " cells with violations");
+    }
+
+    /**
+     * Replays one recorded trace directory against every structure: same prefill, then each
+     * trace file drives one client. Writes results/replay_<trace>.csv. Refuses traces whose
+     * header records another key range or prefill, since their updates would then be applied
+     * to a different starting set.
+     */
+    private static void replay(Path traceDir, String pacingName, String[] structures, int totalElements,
+                               PrefillMode prefillMode, int maxRuns, ExecutionMode mode, ResultsStore store,
+                               RunMetadata run)
+            throws Exception {
+        List<TraceReader> traces = TraceReader.openAll(traceDir);
+        for (TraceReader t : traces) {
+            if (t.elements() != totalElements || t.prefillPercent() != PREFILL_PERCENT
+                    || t.prefillMode() != prefillMode.ordinal()) {
+                throw new IllegalArgumentException(String.format(
+                        "%s was recorded with --elements %d --prefill %s (%d%% prefilled), not --elements %d --prefill %s (%d%%)",
+                        t.getFile(), t.elements(), prefillModeName(t.prefillMode()), t.prefillPercent(),
+                        totalElements, prefillMode.name().toLowerCase(), PREFILL_PERCENT));
+            }
+        }
+        ReplayPacing pacing = pacingName.equalsIgnoreCase("timestamp")
+                ? ReplayPacing.TIMESTAMP : ReplayPacing.AS_FAST_AS_POSSIBLE;
+        long records = 0;
+        for (TraceReader t : traces) records += t.size();
+        String traceName = traceDir.getFileName().toString();
+        System.out.println("Replaying " + traceName + ": " + traces.size() + " threads, "
+                + records + " operations, " + pacing);
+
+        CSVWriterUtil csv = new CSVWriterUtil("results/replay_" + traceName + ".csv");
+        csv.writeHeader("DataStructure,Threads,Runs,Operations,ThroughputOpsPerSec,StdDev,CILower,CIUpper,Seconds,PrefillSeconds,Depth");
+        Map<String, String> cellConfig = new LinkedHashMap<>();
+        cellConfig.put("mode", mode.name());
+        cellConfig.put("pacing", pacing.name());
+        cellConfig.put("prefillMode", prefillMode.name());
+
+        for (String dsName : structures) {
+            System.out.println("Replaying on " + dsName);
+            BenchmarkRunner.AggregateMetrics metrics =
+                    new BenchmarkRunner(() -> getDS(dsName), totalElements, PREFILL_PERCENT,
+                            100, 0, traces.size(), DURATION_SECONDS, maxRuns)
+                            .setTargetConfidence(TARGET_CI_PERCENT, MIN_RUNS)
+                            .setPrefill(prefillMode, PREFILL_THREADS)
+                            .setExecution(mode, 0)
+                            .setReplay(traces, pacing)
+                            .runMultiple();
+            System.out.println("  " + metrics);
+            csv.writeRow(String.format("%s,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.3f,%.3f,%d",
+                    dsName,
+                    traces.size(),
+                    metrics.getNumRuns(),
+                    records,
+                    metrics.getAvgThroughput(),
+                    metrics.getStdDev(),
+                    metrics.getCiLower(),
+                    metrics.getCiUpper(),
+                    StatsUtil.mean(metrics.getAllDurations()),
+                    metrics.getAvgPrefillSeconds(),
+                    metrics.getDepth()
+            ));
+            if (store != null) {
+                Map<String, Double> values = new LinkedHashMap<>();
+                values.put("ThroughputOpsPerSec", metrics.getAvgThroughput());
+                values.put("StdDev", metrics.getStdDev());
+                values.put("PrefillSeconds", metrics.getAvgPrefillSeconds());
+                values.put("Depth", (double) metrics.getDepth());
+                store.appendCell(new CellResult(run.getRunId(), dsName, "replay:" + traceName, traces.size(),
+                        cellConfig, metrics.getAllThroughputs(), values));
+            }
+        }
+        csv.close();
+        System.out.println("=== REPLAY COMPLETE ===");
+    }
+
+    private static String prefillModeName(int ordinal) {
+        PrefillMode[] modes = PrefillMode.values();
+        return ordinal >= 0 && ordinal < modes.length ? modes[ordinal].name().toLowerCase() : "mode " + ordinal;
+    }
+
+    private static CellResult toCellResult(String runId, String dsName, Workload wl, int threads,
+                                           Map<String, String> cellConfig,
+                                           BenchmarkRunner.AggregateMetrics metrics) {
+        MemoryMetrics mem = metrics.getMemory();
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("ThroughputOpsPerSec", metrics.getAvgThroughput());
+        values.put("StdDev", metrics.getStdDev());
+        values.put("CILower", metrics.getCiLower());
+        values.put("CIUpper", metrics.getCiUpper());
+        values.put("Bimodal", metrics.isBimodal() ? 1.0 : 0.0);
+        values.put("WarmupSeconds", metrics.getAvgWarmupSeconds());
+        values.put("SteadyState", metrics.isSteadyState() ? 1.0 : 0.0);
+        values.put("PrefillSeconds", metrics.getAvgPrefillSeconds());
+        values.put("Depth", (double) metrics.getDepth());
+        values.put("AvgDepth", metrics.getAvgDepth());
+        if (mem != null) {
+            values.put("BytesPerOp", mem.getBytesPerOp());
+            values.put("RetainedBytesPerElement", mem.getRetainedBytesPerElement());
+            values.put("GcCount", mem.getGcCount());
+            values.put("GcPauseMs", mem.getGcPauseMillis());
+            values.put("HeapAfterMB", mem.getHeapAfterBytes() / (1024.0 * 1024.0));
+        }
+        CacheStats cache = metrics.getCacheStats();
+        if (cache != null) {
+            values.put("CacheHitPct", 100 * cache.getHitRate());
+            values.put("CacheBypasses", (double) cache.getBypasses());
+            values.put("CacheRejectedFills", (double) cache.getRejectedFills());
+            values.put("CacheInvalidations", (double) cache.getInvalidations());
+        }
+        return new CellResult(runId, dsName, wl.toString(), threads, cellConfig,
+                metrics.getAllThroughputs(), values);
+    }
+
+    private static void writeLockStats(CSVWriterUtil csv, int threads, BenchmarkRunner.AggregateMetrics metrics) {
+        for (LockGroupStats g : metrics.getLockStats()) {
+            System.out.println("  lock " + g);
+            List<Integer> hot = g.hottestStripes(1);
+            int hottest = hot.isEmpty() ? -1 : hot.get(0);
+            double hottestPct = hot.isEmpty() ? 0 : 100.0 * g.stripeAcquisitions(hottest) / g.getAcquisitions();
+            csv.writeRow(String.format("%d,%s,%d,%.3f,%.1f,%d,%d,%.1f,%d,%.3f",
+                    threads,
+                    g.getName(),
+                    g.getAcquisitions(),
+                    100 * g.getContendedFraction(),
+                    g.getAvgWaitNanos(),
+                    g.waitPercentileNanos(0.50),
+                    g.waitPercentileNanos(0.99),
+                    g.getAvgHoldNanos(),
+                    hottest,
+                    hottestPct
+            ));
+        }
+    }
+
+    private static void writeTimelines(String file, BenchmarkRunner.AggregateMetrics metrics,
+                                       double dipFraction) throws IOException {
+        CSVWriterUtil csv = new CSVWriterUtil(file);
+        csv.writeHeader("Run,ElapsedMs,Ops,ThroughputOpsPerSec,Dip");
+        List<ThroughputTimeline> timelines = metrics.getTimelines();
+        for (int run = 0; run < timelines.size(); run++) {
+            ThroughputTimeline tl = timelines.get(run);
+            tl.writeRows(csv, run + 1);
+            if (tl.getDipCount() > 0) {
+                System.out.printf("  run %d: %d of %d intervals below %.0f%% of median %.0f ops/sec (min %.0f)%n",
+                        run + 1, tl.getDipCount(), tl.size(), 100 * dipFraction, tl.getMedianThroughput(),
+                        tl.getMinThroughput());
+            }
+        }
+        csv.close();
+    }
+
+    // "--key value" pairs; a flag without a value maps to "true"
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                opts.put(key, args[++i]);
+            } else {
+                opts.put(key, "true");
+            }
+        }
+        return opts;
+    }
+
+    /** 1, 2, 4, ... below {@code max}, then {@code max} itself. */
+    static int[] powersOfTwoUpTo(int max) {
+        max = Math.max(1, max);
+        int powers = 32 - Integer.numberOfLeadingZeros(max);
+        boolean exact = Integer.bitCount(max) == 1;
+        int[] values = new int[exact ? powers : powers + 1];
+        for (int i = 0; i < powers; i++) values[i] = 1 << i;
+        values[values.length - 1] = max;
+        return values;
+    }
+
+    // --ds value: "all", a comma-separated list, or null for the mode's default
+    static String[] structures(String ds, String[] defaults) {
+        if (ds == null) return defaults;
+        return ds.equals("all") ? ALL_STRUCTURES : ds.split(",");
+    }
 
-        System.out.println("=== FULL BENCHMARK COMPLETE (225 runs, 1 run each) ===");
+    static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+        return values;
     }
 }
@@ -0,0 +1,82 @@
+package com.concurrent.benchmark;
+
+/**
+ * Allocation and GC behaviour of a run (or the average over several runs).
+ */
+public class MemoryMetrics {
+
+    private final double bytesPerOp;
+    private final double retainedBytesPerElement;
+    private final double gcCount;
+    private final double gcPauseMillis;
+    private final long heapBeforeBytes;
+    private final long heapAfterPrefillBytes;
+    private final long heapAfterBytes;
+
+    public MemoryMetrics(double bytesPerOp, double retainedBytesPerElement,
+                         double gcCount, double gcPauseMillis,
+                         long heapBeforeBytes, long heapAfterPrefillBytes, long heapAfterBytes) {
+        this.bytesPerOp = bytesPerOp;
+        this.retainedBytesPerElement = retainedBytesPerElement;
+        this.gcCount = gcCount;
+        this.gcPauseMillis = gcPauseMillis;
+        this.heapBeforeBytes = heapBeforeBytes;
+        this.heapAfterPrefillBytes = heapAfterPrefillBytes;
+        this.heapAfterBytes = heapAfterBytes;
+    }
+
+    // Bytes allocated by all threads during the measured phase, per operation
+    public double getBytesPerOp() {
+        return bytesPerOp;
+    }
+
+    // Live heap growth caused by prefill, per prefilled element
+    public double getRetainedBytesPerElement() {
+        return retainedBytesPerElement;
+    }
+
+    // Collections during the measured phase
+    public double getGcCount() {
+        return gcCount;
+    }
+
+    // Accumulated collection time during the measured phase, as reported by the collectors
+    public double getGcPauseMillis() {
+        return gcPauseMillis;
+    }
+
+    // Live heap (after forced GC) before prefill, after prefill, and after the measured phase
+    public long getHeapBeforeBytes() {
+        return heapBeforeBytes;
+    }
+
+    public long getHeapAfterPrefillBytes() {
+        return heapAfterPrefillBytes;
+    }
+
+    public long getHeapAfterBytes() {
+        return heapAfterBytes;
+    }
+
+    static MemoryMetrics average(MemoryMetrics[] runs, int n) {
+        double bytesPerOp = 0, retained = 0, gcCount = 0, gcPause = 0;
+        long before = 0, afterPrefill = 0, after = 0;
+        for (int i = 0; i < n; i++) {
+            bytesPerOp += runs[i].bytesPerOp;
+            retained += runs[i].retainedBytesPerElement;
+            gcCount += runs[i].gcCount;
+            gcPause += runs[i].gcPauseMillis;
+            before += runs[i].heapBeforeBytes;
+            afterPrefill += runs[i].heapAfterPrefillBytes;
+            after += runs[i].heapAfterBytes;
+        }
+        return new MemoryMetrics(bytesPerOp / n, retained / n, gcCount / n, gcPause / n,
+                before / n, afterPrefill / n, after / n);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f B/op, %.1f B/element retained, %.1f GCs (%.1f ms)",
+                bytesPerOp, retainedBytesPerElement, gcCount, gcPauseMillis);
+    }
+}
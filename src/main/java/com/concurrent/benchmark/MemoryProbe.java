@@ -0,0 +1,105 @@
+package com.concurrent.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads allocation, GC and heap counters from the platform MXBeans.
+ *
+ * <p>Allocation is summed over all live platform threads, so it includes virtual clients
+ * through their carrier threads. Threads that exit between two snapshots lose their
+ * counters; benchmark workers stay alive for the whole measured phase.
+ */
+final class MemoryProbe {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final List<GarbageCollectorMXBean> COLLECTORS =
+            ManagementFactory.getGarbageCollectorMXBeans();
+
+    // Full collections per heapUsedAfterGc(); see there
+    private static final int GC_ROUNDS = usesSerialGc() ? 4 : 2;
+
+    static {
+        if (THREADS.isThreadAllocatedMemorySupported()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    private MemoryProbe() {}
+
+    /** Point-in-time counters; differences between two snapshots describe a phase. */
+    static final class Snapshot {
+        private final Map<Long, Long> allocatedByThread;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Snapshot(Map<Long, Long> allocatedByThread, long gcCount, long gcMillis) {
+            this.allocatedByThread = allocatedByThread;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        long allocatedSince(Snapshot earlier) {
+            long total = 0;
+            for (Map.Entry<Long, Long> e : allocatedByThread.entrySet()) {
+                total += e.getValue() - earlier.allocatedByThread.getOrDefault(e.getKey(), 0L);
+            }
+            return total;
+        }
+
+        long gcCountSince(Snapshot earlier) {
+            return gcCount - earlier.gcCount;
+        }
+
+        long gcMillisSince(Snapshot earlier) {
+            return gcMillis - earlier.gcMillis;
+        }
+    }
+
+    static Snapshot snapshot() {
+        Map<Long, Long> allocated = new HashMap<>();
+        if (THREADS.isThreadAllocatedMemoryEnabled()) {
+            long[] ids = THREADS.getAllThreadIds();
+            long[] bytes = THREADS.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) allocated.put(ids[i], bytes[i]);
+            }
+        }
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new Snapshot(allocated, count, millis);
+    }
+
+    /**
+     * Heap in use after requesting full collections, i.e. approximately live data. Serial's
+     * mark-compact leaves up to MarkSweepDeadRatio (5%) of the old generation as dead space
+     * and only compacts fully every MarkSweepAlwaysCompactCount (4) full collections, so it
+     * gets four in a row. Other collectors get two: the second frees what only became
+     * unreachable once the first had processed references. G1's full GC also leaves regions
+     * that are at least 95% live uncompacted, which no number of rounds changes, so its
+     * figure may include a little dead space.
+     */
+    static long heapUsedAfterGc() throws InterruptedException {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // -XX:+UseSerialGC registers "Copy" and "MarkSweepCompact"
+    private static boolean usesSerialGc() {
+        for (GarbageCollectorMXBean gc : COLLECTORS) {
+            if (gc.getName().equals("MarkSweepCompact")) return true;
+        }
+        return false;
+    }
+}
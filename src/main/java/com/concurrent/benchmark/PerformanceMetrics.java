@@ -1,15 +1,53 @@
 package com.concurrent.benchmark;
 
+import com.concurrent.datastructures.CacheStats;
+import com.concurrent.locks.LockGroupStats;
+import com.concurrent.stress.History;
+
+import java.util.Collections;
+import java.util.List;
+
 public class PerformanceMetrics {
 
     private final long totalOps;
     private final double seconds;
     private final double throughput;
+    private final double warmupSeconds;
+    private final boolean steadyState;
+    private final double prefillSeconds;
+    private final int depth;
+    private final double avgDepth;
+
+    // Optional instrumentation, null (or empty) unless the runner enabled it
+    private final List<LockGroupStats> lockStats;
+    private final MemoryMetrics memory;
+    private final ThroughputTimeline timeline;
+    private final CacheStats cacheStats;
+    private final History history;
 
     public PerformanceMetrics(long totalOps, double seconds, double throughput) {
+        this(totalOps, seconds, throughput, 0, false, 0, -1, -1,
+                Collections.emptyList(), null, null, null, null);
+    }
+
+    public PerformanceMetrics(long totalOps, double seconds, double throughput,
+                              double warmupSeconds, boolean steadyState,
+                              double prefillSeconds, int depth, double avgDepth,
+                              List<LockGroupStats> lockStats, MemoryMetrics memory,
+                              ThroughputTimeline timeline, CacheStats cacheStats, History history) {
         this.totalOps = totalOps;
         this.seconds = seconds;
         this.throughput = throughput;
+        this.warmupSeconds = warmupSeconds;
+        this.steadyState = steadyState;
+        this.prefillSeconds = prefillSeconds;
+        this.depth = depth;
+        this.avgDepth = avgDepth;
+        this.lockStats = Collections.unmodifiableList(lockStats);
+        this.memory = memory;
+        this.timeline = timeline;
+        this.cacheStats = cacheStats;
+        this.history = history;
     }
 
     public long getTotalOps() {
@@ -23,4 +61,53 @@ public class PerformanceMetrics {
     public double getThroughput() {
         return throughput;
     }
+
+    // Time spent in the untimed warmup phase before measurement began
+    public double getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    // True if warmup ended because throughput stabilised rather than hitting its time cap
+    public boolean isSteadyState() {
+        return steadyState;
+    }
+
+    public double getPrefillSeconds() {
+        return prefillSeconds;
+    }
+
+    // Longest search path right after prefill (see ConcurrentSet.maxDepth)
+    public int getDepth() {
+        return depth;
+    }
+
+    // Mean search path to a present key after the measured phase (see ConcurrentSet.averageDepth)
+    public double getAvgDepth() {
+        return avgDepth;
+    }
+
+    // Per-group lock contention during the measured phase (empty unless -Dds.lockStats=true)
+    public List<LockGroupStats> getLockStats() {
+        return lockStats;
+    }
+
+    // Allocation, GC and heap occupancy of this run (null unless memory accounting is on)
+    public MemoryMetrics getMemory() {
+        return memory;
+    }
+
+    // Per-interval throughput of the measured phase (null unless the timeline sampler is on)
+    public ThroughputTimeline getTimeline() {
+        return timeline;
+    }
+
+    // Lookaside cache counters of the measured phase (null unless the structure is a CachedSet)
+    public CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    // Recorded operations of a stress run (null unless BenchmarkRunner.setStress is on)
+    public History getHistory() {
+        return history;
+    }
 }
@@ -0,0 +1,18 @@
+package com.concurrent.benchmark;
+
+/**
+ * How a structure is populated with the prefill keys {@code 0..prefillCount-1} before a run.
+ */
+public enum PrefillMode {
+    /** Individual inserts in ascending key order (degenerates unbalanced trees into a list). */
+    ASCENDING,
+    /** Individual inserts in a random permutation of the keys. */
+    RANDOM,
+    /** One {@link com.concurrent.datastructures.ConcurrentSet#bulkLoad(int[])} call. */
+    BULK,
+    /**
+     * {@link com.concurrent.datastructures.ConcurrentSet#restoreFrom(java.nio.file.Path)} of a
+     * snapshot written once per runner, outside the timed prefill.
+     */
+    SNAPSHOT
+}
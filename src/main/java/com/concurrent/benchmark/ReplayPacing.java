@@ -0,0 +1,11 @@
+package com.concurrent.benchmark;
+
+/**
+ * How a recorded trace is fed to the structure during replay.
+ */
+public enum ReplayPacing {
+    /** Each thread issues its next recorded operation as soon as the previous one returns. */
+    AS_FAST_AS_POSSIBLE,
+    /** Each operation waits until its recorded offset from the start of the trace. */
+    TIMESTAMP
+}
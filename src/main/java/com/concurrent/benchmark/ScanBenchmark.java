@@ -0,0 +1,160 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.datastructures.SetAlgebra;
+import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Parallel scan and set algebra over a structure of N keys while updater threads keep
+ * inserting and removing random keys. For each fork/join parallelism it times a full
+ * {@link SetAlgebra#forEachParallel} scan and a union, intersection and difference against a
+ * second set, reporting the median of several repeats, the speedup over parallelism 1 and
+ * the update rate the updaters sustained meanwhile.
+ */
+final class ScanBenchmark {
+
+    private static final String[] OPERATIONS = {"scan", "union", "intersect", "difference"};
+
+    private final int keys;
+    private final int[] parallelism;
+    private final int updaters;
+    private final int repeats;
+
+    ScanBenchmark(int keys, int[] parallelism, int updaters, int repeats) {
+        this.keys = keys;
+        this.parallelism = parallelism;
+        this.updaters = updaters;
+        this.repeats = repeats;
+    }
+
+    void run(String[] structures, Function<String, ConcurrentSet> factory, String csvFile)
+            throws IOException, InterruptedException {
+        CSVWriterUtil csv = new CSVWriterUtil(csvFile);
+        csv.writeHeader("DataStructure,Keys,Operation,Parallelism,Updaters,Seconds,ResultKeys,SpeedupVsP1,UpdatesPerSec");
+        for (String name : structures) {
+            // Even keys of [0, 2N); updates draw from the whole range so the size stays near N
+            ConcurrentSet set = factory.apply(name);
+            set.bulkLoad(keys(0, 2, keys));
+            // Multiples of 3 over the same range overlap a third of the scanned set
+            ConcurrentSet other = factory.apply(name);
+            other.bulkLoad(keys(0, 3, (2 * keys + 2) / 3));
+
+            LongAdder updates = new LongAdder();
+            Updaters running = new Updaters(set, 2 * keys, updates);
+            running.start();
+            try {
+                double[] baseline = new double[OPERATIONS.length];
+                for (int p : parallelism) {
+                    ForkJoinPool pool = new ForkJoinPool(p);
+                    try {
+                        for (int op = 0; op < OPERATIONS.length; op++) {
+                            double[] seconds = new double[repeats];
+                            long[] result = {0};
+                            long updatesBefore = updates.sum();
+                            long start = System.nanoTime();
+                            for (int r = 0; r < repeats; r++) {
+                                seconds[r] = execute(OPERATIONS[op], set, other, name, factory, pool, result);
+                            }
+                            double window = (System.nanoTime() - start) / 1_000_000_000.0;
+                            double updateRate = (updates.sum() - updatesBefore) / window;
+                            double median = StatsUtil.median(seconds, repeats);
+                            if (p == parallelism[0]) baseline[op] = median;
+
+                            System.out.printf("  %-18s %-10s p=%-3d %.4fs  %,d keys  %.2fx  %,.0f updates/s%n",
+                                    name, OPERATIONS[op], p, median, result[0], baseline[op] / median, updateRate);
+                            csv.writeRow(String.format("%s,%d,%s,%d,%d,%.5f,%d,%.2f,%.0f",
+                                    name, keys, OPERATIONS[op], p, updaters, median, result[0],
+                                    baseline[op] / median, updateRate));
+                        }
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+            } finally {
+                running.stop();
+                BenchmarkRunner.close(set);
+                BenchmarkRunner.close(other);
+            }
+        }
+        csv.close();
+    }
+
+    /**
+     * Runs one operation and returns its time in seconds, storing the number of keys it
+     * visited or produced in {@code result[0]}. Only the parallel part is timed: for the
+     * binary operations, the result set is created before and bulk loaded and counted after.
+     */
+    private static double execute(String operation, ConcurrentSet set, ConcurrentSet other, String name,
+                                  Function<String, ConcurrentSet> factory, ForkJoinPool pool, long[] result) {
+        if (operation.equals("scan")) {
+            LongAdder visited = new LongAdder();
+            long begin = System.nanoTime();
+            SetAlgebra.forEachParallel(set, key -> visited.increment(), pool);
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            result[0] = visited.sum();
+            return seconds;
+        }
+        ConcurrentSet target = factory.apply(name);
+        try {
+            long begin = System.nanoTime();
+            int[] keys;
+            switch (operation) {
+                case "union": keys = SetAlgebra.unionKeys(set, other, pool); break;
+                case "intersect": keys = SetAlgebra.intersectKeys(set, other, pool); break;
+                default: keys = SetAlgebra.differenceKeys(set, other, pool); break;
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            target.bulkLoad(keys);
+            long[] count = {0};
+            target.forEachKey(key -> count[0]++);
+            result[0] = count[0];
+            return seconds;
+        } finally {
+            BenchmarkRunner.close(target);
+        }
+    }
+
+    private static int[] keys(int first, int step, int count) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) keys[i] = first + i * step;
+        return keys;
+    }
+
+    /** Platform threads inserting or removing (50/50) uniformly random keys until stopped. */
+    private final class Updaters {
+        private final List<Thread> threads = new ArrayList<>();
+        private volatile boolean running = true;
+
+        Updaters(ConcurrentSet set, int range, LongAdder ops) {
+            for (int i = 0; i < updaters; i++) {
+                threads.add(Thread.ofPlatform().daemon().name("scan-updater-" + i).unstarted(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running) {
+                        int key = random.nextInt(range);
+                        if (random.nextBoolean()) set.insert(key);
+                        else set.remove(key);
+                        ops.increment();
+                    }
+                }));
+            }
+        }
+
+        void start() {
+            for (Thread t : threads) t.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            for (Thread t : threads) t.join();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Startup cost of a structure holding N keys, built three ways: individual inserts in
+ * random order (the default prefill), one bulkLoad call, and restore from a snapshot file.
+ * Each is the median of several builds into fresh instances.
+ */
+final class StartupBenchmark {
+
+    private final int keys;
+    private final int repeats;
+    private final int insertThreads;
+
+    StartupBenchmark(int keys, int repeats, int insertThreads) {
+        this.keys = keys;
+        this.repeats = repeats;
+        this.insertThreads = insertThreads;
+    }
+
+    void run(String[] structures, Function<String, ConcurrentSet> factory, Path snapshotDir, String csvFile)
+            throws IOException, InterruptedException {
+        Files.createDirectories(snapshotDir);
+        CSVWriterUtil csv = new CSVWriterUtil(csvFile);
+        csv.writeHeader("DataStructure,Keys,InsertSeconds,BulkSeconds,SnapshotWriteSeconds,RestoreSeconds,SnapshotBytes,RestoreSpeedupVsInsert");
+        for (String name : structures) {
+            double insert = median(name, factory, PrefillMode.RANDOM, null);
+            double bulk = median(name, factory, PrefillMode.BULK, null);
+
+            Path file = snapshotDir.resolve(name + "_" + keys + ".snapshot");
+            BenchmarkRunner snapshotRunner = runner(name, factory, PrefillMode.SNAPSHOT).setSnapshotFile(file);
+            double write = snapshotRunner.writeSnapshot();
+            double restore = median(name, factory, PrefillMode.SNAPSHOT, snapshotRunner);
+
+            System.out.printf("  %-18s insert %.3fs  bulk %.3fs  snapshot write %.3fs  restore %.3fs (%.1fx faster than insert)%n",
+                    name, insert, bulk, write, restore, insert / restore);
+            csv.writeRow(String.format("%s,%d,%.4f,%.4f,%.4f,%.4f,%d,%.2f",
+                    name, keys, insert, bulk, write, restore, Files.size(file), insert / restore));
+        }
+        csv.close();
+    }
+
+    private BenchmarkRunner runner(String name, Function<String, ConcurrentSet> factory, PrefillMode mode) {
+        return new BenchmarkRunner(() -> factory.apply(name), keys, 100, 100, 0, 1, 1, 1)
+                .setPrefill(mode, insertThreads);
+    }
+
+    private double median(String name, Function<String, ConcurrentSet> factory, PrefillMode mode,
+                          BenchmarkRunner runner) throws InterruptedException {
+        if (runner == null) runner = runner(name, factory, mode);
+        double[] seconds = new double[repeats];
+        for (int r = 0; r < repeats; r++) {
+            ConcurrentSet ds = factory.apply(name);
+            System.gc();
+            long start = System.nanoTime();
+            runner.prefill(ds);
+            seconds[r] = (System.nanoTime() - start) / 1_000_000_000.0;
+            BenchmarkRunner.close(ds);
+        }
+        return StatsUtil.median(seconds, repeats);
+    }
+}
@@ -0,0 +1,82 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+/**
+ * Throughput of one run's measured phase, sampled at a fixed interval.
+ *
+ * <p>Intervals whose throughput falls below {@code dipFraction} of the median interval are
+ * flagged as dips, exposing resize stalls, GC pauses and lock convoys that the run average
+ * hides.
+ */
+public class ThroughputTimeline {
+
+    private final long[] elapsedNanos;
+    private final long[] ops;
+    private final double[] throughput;
+    private final boolean[] dips;
+    private final double median;
+
+    ThroughputTimeline(long[] elapsedNanos, long[] ops, int samples, double dipFraction) {
+        this.elapsedNanos = new long[samples];
+        this.ops = new long[samples];
+        this.throughput = new double[samples];
+        this.dips = new boolean[samples];
+        long prev = 0;
+        for (int i = 0; i < samples; i++) {
+            this.elapsedNanos[i] = elapsedNanos[i];
+            this.ops[i] = ops[i];
+            double seconds = (elapsedNanos[i] - prev) / 1_000_000_000.0;
+            this.throughput[i] = seconds > 0 ? ops[i] / seconds : 0;
+            prev = elapsedNanos[i];
+        }
+        this.median = StatsUtil.median(throughput, samples);
+        for (int i = 0; i < samples; i++) {
+            dips[i] = throughput[i] < dipFraction * median;
+        }
+    }
+
+    public int size() {
+        return ops.length;
+    }
+
+    // End of interval i, relative to the start of the measured phase
+    public long getElapsedNanos(int i) {
+        return elapsedNanos[i];
+    }
+
+    public long getOps(int i) {
+        return ops[i];
+    }
+
+    public double getThroughput(int i) {
+        return throughput[i];
+    }
+
+    public boolean isDip(int i) {
+        return dips[i];
+    }
+
+    public double getMedianThroughput() {
+        return median;
+    }
+
+    public int getDipCount() {
+        int n = 0;
+        for (boolean d : dips) if (d) n++;
+        return n;
+    }
+
+    public double getMinThroughput() {
+        return throughput.length == 0 ? 0 : StatsUtil.min(throughput, throughput.length);
+    }
+
+    /** Appends this timeline's rows (Run,ElapsedMs,Ops,ThroughputOpsPerSec,Dip) to {@code csv}. */
+    public void writeRows(CSVWriterUtil csv, int run) {
+        for (int i = 0; i < size(); i++) {
+            csv.writeRow(run, String.format("%.3f", elapsedNanos[i] / 1_000_000.0), ops[i],
+                    String.format("%.2f", throughput[i]), dips[i]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.concurrent.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that reads the workers' padded op counters at a fixed interval
+ * during the measured phase. Samples go into preallocated arrays, so the sampler does not
+ * allocate while the benchmark runs.
+ */
+final class TimelineSampler extends Thread {
+
+    private final AtomicLongArray counters;
+    private final int counterPad;
+    private final long intervalNanos;
+    private final long[] elapsed;
+    private final long[] ops;
+    private volatile boolean stopped;
+    private volatile long startNanos;
+    private volatile long startOps;
+    private int samples;
+
+    TimelineSampler(AtomicLongArray counters, int counterPad, int intervalMillis, double maxSeconds) {
+        super("timeline-sampler");
+        setDaemon(true);
+        this.counters = counters;
+        this.counterPad = counterPad;
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        int capacity = (int) Math.ceil(maxSeconds * 1000.0 / intervalMillis) + 2;
+        this.elapsed = new long[capacity];
+        this.ops = new long[capacity];
+    }
+
+    /**
+     * Starts sampling; intervals are aligned to {@code startNanos}, and the first one counts
+     * from {@code startOps}, the counter total read at that moment.
+     */
+    void begin(long startNanos, long startOps) {
+        this.startNanos = startNanos;
+        this.startOps = startOps;
+        start();
+    }
+
+    @Override
+    public void run() {
+        long prevOps = startOps;
+        long next = startNanos + intervalNanos;
+        while (!stopped && samples < elapsed.length) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long now = System.nanoTime();
+            long total = sum();
+            elapsed[samples] = now - startNanos;
+            ops[samples] = total - prevOps;
+            samples++;
+            prevOps = total;
+            // After an overrun (e.g. the sampler was descheduled), skip the missed ticks
+            // rather than take back-to-back catch-up samples; that interval is just longer
+            next += intervalNanos * ((now - next) / intervalNanos + 1);
+        }
+    }
+
+    /** Stops sampling and returns the completed intervals. */
+    ThroughputTimeline finish(double dipFraction) throws InterruptedException {
+        stopped = true;
+        LockSupport.unpark(this);
+        join();
+        return new ThroughputTimeline(elapsed, ops, samples, dipFraction);
+    }
+
+    private long sum() {
+        long sum = 0;
+        for (int i = 0; i < counters.length(); i += counterPad) {
+            sum += counters.get(i);
+        }
+        return sum;
+    }
+}
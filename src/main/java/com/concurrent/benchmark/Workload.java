@@ -6,7 +6,13 @@ public class Workload {
     public final int insertPercent;
     public final int deletePercent;
 
+    /** The three percentages must each be in [0, 100] and sum to 100. */
     public Workload(int containsPercent, int insertPercent, int deletePercent) {
+        if (containsPercent < 0 || insertPercent < 0 || deletePercent < 0
+                || containsPercent + insertPercent + deletePercent != 100) {
+            throw new IllegalArgumentException("Workload percentages must be non-negative and sum to 100: "
+                    + containsPercent + "C-" + insertPercent + "I-" + deletePercent + "D");
+        }
         this.containsPercent = containsPercent;
         this.insertPercent = insertPercent;
         this.deletePercent = deletePercent;
@@ -16,4 +22,16 @@ public class Workload {
     public String toString() {
         return containsPercent + "C-" + insertPercent + "I-" + deletePercent + "D";
     }
+
+    /** Parses the {@link #toString()} form, e.g. {@code 90C-9I-1D}. */
+    public static Workload parse(String s) {
+        String[] parts = s.split("-");
+        if (parts.length != 3 || !parts[0].endsWith("C") || !parts[1].endsWith("I") || !parts[2].endsWith("D")) {
+            throw new IllegalArgumentException("Workload must look like 90C-9I-1D: " + s);
+        }
+        return new Workload(
+                Integer.parseInt(parts[0].substring(0, parts[0].length() - 1)),
+                Integer.parseInt(parts[1].substring(0, parts[1].length() - 1)),
+                Integer.parseInt(parts[2].substring(0, parts[2].length() - 1)));
+    }
 }
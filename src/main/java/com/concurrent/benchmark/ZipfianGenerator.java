@@ -0,0 +1,62 @@
+package com.concurrent.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian keys in {@code [0, n)}, drawn with the rejection-free method of Gray et al.
+ * ("Quickly Generating Billion-Record Synthetic Databases"), as in YCSB. Rank 0 is the most
+ * popular. Ranks are scrambled by a hash so the hot keys are spread over the key range
+ * instead of clustering at the smallest keys (one subtree, one group of stripes).
+ * Immutable after construction, so one instance serves every client.
+ */
+final class ZipfianGenerator {
+
+    private final int n;
+    private final double alpha;
+    private final double zetan;
+    private final double eta;
+    private final double halfPowTheta;
+
+    ZipfianGenerator(int n, double theta) {
+        if (n < 2) throw new IllegalArgumentException("Zipfian key range must be >= 2: " + n);
+        if (!(theta > 0 && theta < 1)) {
+            throw new IllegalArgumentException("Zipfian theta must be in (0, 1): " + theta);
+        }
+        this.n = n;
+        this.zetan = zeta(n, theta);
+        double zeta2 = zeta(2, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetan);
+        this.halfPowTheta = 1 + Math.pow(0.5, theta);
+    }
+
+    int next(ThreadLocalRandom rnd) {
+        double u = rnd.nextDouble();
+        double uz = u * zetan;
+        int rank;
+        if (uz < 1.0) {
+            rank = 0;
+        } else if (uz < halfPowTheta) {
+            rank = 1;
+        } else {
+            rank = (int) Math.min(n - 1, (long) (n * Math.pow(eta * u - eta + 1, alpha)));
+        }
+        return Math.floorMod(scramble(rank), n);
+    }
+
+    // MurmurHash3 finaliser
+    private static int scramble(int x) {
+        x ^= x >>> 16;
+        x *= 0x85EBCA6B;
+        x ^= x >>> 13;
+        x *= 0xC2B2AE35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) sum += 1 / Math.pow(i, theta);
+        return sum;
+    }
+}
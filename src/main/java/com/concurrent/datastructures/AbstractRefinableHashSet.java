@@ -0,0 +1,271 @@
+package com.concurrent.datastructures;
+
+import com.concurrent.jfr.ResizeEvent;
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockStats;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Refinable HashSet with:
+ * - Lock striping (multiple locks for different buckets)
+ * - Dynamic resizing when load factor exceeded
+ * - Read-write lock for resize operations
+ *
+ * The bucket table is a {@code T} whose chains subclasses lay out; they are only called
+ * with the lock of the bucket they touch held, or the resize write lock.
+ */
+abstract class AbstractRefinableHashSet<T> implements ConcurrentSet {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_BUCKETS = 16;
+
+    private volatile T buckets;
+    private volatile Lock[] locks;
+    private volatile int numLocks;
+    private final String name;
+    private final LockFactory lockFactory;
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final ReentrantReadWriteLock resizeLock;
+
+    /** {@code name} prefixes the lock statistics groups, e.g. "Refinable". */
+    AbstractRefinableHashSet(String name, int initialCapacity, LockFactory lockFactory) {
+        int capacity = Math.max(MIN_BUCKETS, initialCapacity);
+        this.name = name;
+        this.lockFactory = lockFactory;
+        this.resizeLock = LockStats.newReadWriteLock(name + ".resize");
+        this.buckets = newTable(capacity);
+        this.numLocks = Math.min(capacity, Runtime.getRuntime().availableProcessors() * 4);
+        this.locks = newLocks(numLocks);
+    }
+
+    // ---- Chain layout ----
+
+    abstract T newTable(int capacity);
+
+    abstract int capacity(T table);
+
+    abstract boolean contains(T table, int index, int key);
+
+    /** Adds {@code key} to its chain unless present; false if it was. */
+    abstract boolean add(T table, int index, int key);
+
+    abstract boolean remove(T table, int index, int key);
+
+    abstract void forEach(T table, int index, IntConsumer action);
+
+    abstract int chainLength(T table, int index);
+
+    /** The keys of {@code table} in a new table of {@code newCapacity} buckets. */
+    abstract T rehash(T table, int newCapacity);
+
+    /** A table of {@code capacity} buckets holding {@code sortedKeys}. */
+    abstract T build(int[] sortedKeys, int capacity);
+
+    static int hash(int key, int capacity) {
+        return Math.abs(key % capacity);
+    }
+
+    // ---- Algorithm ----
+
+    private Lock[] newLocks(int n) {
+        Lock[] newLocks = new Lock[n];
+        for (int i = 0; i < n; i++) {
+            newLocks[i] = lockFactory.newLock(name + ".stripe", i);
+        }
+        return newLocks;
+    }
+
+    private Lock getLock(int bucketIndex) {
+        return locks[bucketIndex % numLocks];
+    }
+
+    @Override
+    public boolean contains(int key) {
+        resizeLock.readLock().lock();
+        try {
+            T table = buckets;
+            int index = hash(key, capacity(table));
+            Lock lock = getLock(index);
+
+            lock.lock();
+            try {
+                return contains(table, index, key);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean insert(int key) {
+        boolean grow;
+        resizeLock.readLock().lock();
+        try {
+            T table = buckets;
+            int capacity = capacity(table);
+            int index = hash(key, capacity);
+            Lock lock = getLock(index);
+
+            lock.lock();
+            try {
+                if (!add(table, index, key)) return false;
+                grow = size.incrementAndGet() > capacity * LOAD_FACTOR;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+        // Resize after both locks are released; the stripe locks need not be reentrant
+        if (grow) resize();
+        return true;
+    }
+
+    @Override
+    public boolean remove(int key) {
+        resizeLock.readLock().lock();
+        try {
+            T table = buckets;
+            int index = hash(key, capacity(table));
+            Lock lock = getLock(index);
+
+            lock.lock();
+            try {
+                if (!remove(table, index, key)) return false;
+                size.decrementAndGet();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    private void resize() {
+        resizeLock.writeLock().lock();
+        // Begins once the lock is held: the event spans the resize, not the wait for readers
+        ResizeEvent event = new ResizeEvent();
+        event.begin();
+        try {
+            T oldBuckets = buckets;
+            int oldCapacity = capacity(oldBuckets);
+
+            // Double check resize is still needed
+            if (size.get() <= oldCapacity * LOAD_FACTOR) {
+                return;
+            }
+
+            int newCapacity = oldCapacity * 2;
+            T newBuckets = rehash(oldBuckets, newCapacity);
+
+            // Update number of locks if needed (refine)
+            int newNumLocks = Math.min(newCapacity, numLocks * 2);
+            if (newNumLocks > numLocks) {
+                locks = newLocks(newNumLocks);
+                numLocks = newNumLocks;
+            }
+
+            buckets = newBuckets;
+
+            if (event.shouldCommit()) {
+                event.structure = getClass().getSimpleName();
+                event.oldCapacity = oldCapacity;
+                event.newCapacity = newCapacity;
+                event.commit();
+            }
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        resizeLock.writeLock().lock();
+        try {
+            BulkLoad.checkEmpty(size.get() == 0);
+
+            // Presize with the same doubling steps resize() would have taken
+            int capacity = capacity(buckets);
+            int newNumLocks = numLocks;
+            while (sortedKeys.length > capacity * LOAD_FACTOR) {
+                capacity *= 2;
+                newNumLocks = Math.min(capacity, newNumLocks * 2);
+            }
+
+            T table = build(sortedKeys, capacity);
+
+            if (newNumLocks > numLocks) {
+                locks = newLocks(newNumLocks);
+                numLocks = newNumLocks;
+            }
+            size.set(sortedKeys.length);
+            buckets = table;
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        resizeLock.writeLock().lock();
+        try {
+            T table = buckets;
+            for (int index = 0, n = capacity(table); index < n; index++) forEach(table, index, action);
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits by ranges of the buckets present when it is created. The capacity only ever
+     * doubles, so after a resize an old bucket i is spread over new buckets i, i + C, i + 2C...
+     * (C the old capacity); each visit reads that whole residue class under the read lock, so
+     * a concurrent resize neither hides nor repeats a key.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        int capacity = capacity(buckets);
+        return new BucketSpliterator((bucket, out) -> {
+            resizeLock.readLock().lock();
+            try {
+                T table = buckets;
+                IntConsumer add = out::add;
+                for (int index = bucket, n = capacity(table); index < n; index += capacity) {
+                    Lock lock = getLock(index);
+                    lock.lock();
+                    try {
+                        forEach(table, index, add);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } finally {
+                resizeLock.readLock().unlock();
+            }
+        }, capacity, size.get());
+    }
+
+    @Override
+    public int maxDepth() {
+        resizeLock.writeLock().lock();
+        try {
+            T table = buckets;
+            int max = 0;
+            for (int index = 0, n = capacity(table); index < n; index++) {
+                max = Math.max(max, chainLength(table, index));
+            }
+            return max;
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.concurrent.datastructures;
+
+/**
+ * Opt-in cache of boxed keys for the {@code java.util} adapters. Disabled,
+ * {@link #box(int)} is {@link Integer#valueOf(int)}, which allocates for keys above 127 like
+ * a typical service would. Enabled, keys in {@code [0, size)} map to preallocated
+ * {@code Integer}s, so the adapters' bytes per operation measure the collection itself.
+ */
+public final class BoxCache {
+
+    private static volatile Integer[] cache = new Integer[0];
+
+    private BoxCache() {}
+
+    /** Preallocates boxes for keys {@code 0..size-1}. Call before the benchmark threads start. */
+    public static void enable(int size) {
+        Integer[] c = new Integer[size];
+        for (int i = 0; i < size; i++) c[i] = i;
+        cache = c;
+    }
+
+    public static void disable() {
+        cache = new Integer[0];
+    }
+
+    public static boolean isEnabled() {
+        return cache.length > 0;
+    }
+
+    public static Integer box(int key) {
+        Integer[] c = cache;
+        return key >= 0 && key < c.length ? c[key] : Integer.valueOf(key);
+    }
+}
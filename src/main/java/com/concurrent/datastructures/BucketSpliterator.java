@@ -0,0 +1,80 @@
+package com.concurrent.datastructures;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Weakly consistent {@link Spliterator.OfInt} for the hash sets: it covers a range of bucket
+ * indices and splits by halving that range. Each bucket is copied out under the lock that
+ * guards it and then handed to the action, so the action never runs under a set lock and
+ * every bucket is seen as of one instant, but buckets are visited at different times.
+ */
+final class BucketSpliterator implements Spliterator.OfInt {
+
+    /** Appends the keys of one bucket to {@code out}, holding whatever lock guards it. */
+    interface Reader {
+        void read(int bucket, IntList out);
+    }
+
+    private final Reader reader;
+    private int next;
+    private int end;
+    private long estimate;
+    private final IntList buffer = new IntList();
+    private int pos;
+
+    BucketSpliterator(Reader reader, int buckets, long estimate) {
+        this(reader, 0, buckets, estimate);
+    }
+
+    private BucketSpliterator(Reader reader, int from, int to, long estimate) {
+        this.reader = reader;
+        this.next = from;
+        this.end = to;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        while (pos == buffer.size()) {
+            if (next >= end) return false;
+            buffer.clear();
+            pos = 0;
+            reader.read(next++, buffer);
+        }
+        action.accept(buffer.get(pos++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (pos < buffer.size()) action.accept(buffer.get(pos++));
+        while (next < end) {
+            buffer.clear();
+            reader.read(next++, buffer);
+            for (int i = 0; i < buffer.size(); i++) action.accept(buffer.get(i));
+        }
+        buffer.clear();
+        pos = 0;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        int mid = (next + end) >>> 1;
+        if (mid <= next) return null;
+        BucketSpliterator upper = new BucketSpliterator(reader, mid, end, estimate >>>= 1);
+        end = mid;
+        return upper;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        // A key lives in exactly one bucket and each bucket is read once
+        return DISTINCT | NONNULL | CONCURRENT;
+    }
+}
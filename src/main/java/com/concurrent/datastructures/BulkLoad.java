@@ -0,0 +1,80 @@
+package com.concurrent.datastructures;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Argument checks and the balanced tree construction shared by the
+ * {@link ConcurrentSet#bulkLoad(int[])} implementations.
+ */
+final class BulkLoad {
+
+    // Key ranges smaller than this are built sequentially within one fork/join task
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private BulkLoad() {}
+
+    static void checkSorted(int[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException(
+                        "bulkLoad keys must be strictly ascending (index " + i + ")");
+            }
+        }
+    }
+
+    static void checkEmpty(boolean empty) {
+        if (!empty) {
+            throw new IllegalStateException("bulkLoad requires an empty set");
+        }
+    }
+
+    /** Creates a node from its key, its preorder position in the tree and its finished subtrees. */
+    interface NodeFactory<N> {
+        N node(int key, int preorder, N left, N right);
+    }
+
+    /**
+     * Median-first construction of a perfectly balanced tree over sorted keys. Subtrees of
+     * large ranges are built in parallel on the common fork/join pool; joining the tasks
+     * publishes the finished nodes to the caller.
+     */
+    static <N> N balancedTree(int[] keys, NodeFactory<N> factory) {
+        if (keys.length < PARALLEL_THRESHOLD) return build(keys, 0, keys.length - 1, 0, factory);
+        return ForkJoinPool.commonPool().invoke(new BuildTask<>(keys, 0, keys.length - 1, 0, factory));
+    }
+
+    // The subtree over keys[lo..hi] occupies preorder positions preorder .. preorder + (hi - lo)
+    private static <N> N build(int[] keys, int lo, int hi, int preorder, NodeFactory<N> factory) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        N left = build(keys, lo, mid - 1, preorder + 1, factory);
+        N right = build(keys, mid + 1, hi, preorder + 1 + (mid - lo), factory);
+        return factory.node(keys[mid], preorder, left, right);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BuildTask<N> extends RecursiveTask<N> {
+        private final int[] keys;
+        private final int lo, hi, preorder;
+        private final NodeFactory<N> factory;
+
+        BuildTask(int[] keys, int lo, int hi, int preorder, NodeFactory<N> factory) {
+            this.keys = keys;
+            this.lo = lo;
+            this.hi = hi;
+            this.preorder = preorder;
+            this.factory = factory;
+        }
+
+        @Override
+        protected N compute() {
+            if (hi - lo + 1 < PARALLEL_THRESHOLD) return build(keys, lo, hi, preorder, factory);
+            int mid = (lo + hi) >>> 1;
+            BuildTask<N> left = new BuildTask<>(keys, lo, mid - 1, preorder + 1, factory);
+            left.fork();
+            N right = new BuildTask<>(keys, mid + 1, hi, preorder + 1 + (mid - lo), factory).compute();
+            return factory.node(keys[mid], preorder, left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.concurrent.datastructures;
+
+/**
+ * Immutable snapshot of a {@link CachedSet}'s counters.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long bypasses;
+    private final long rejectedFills;
+    private final long invalidations;
+
+    CacheStats(long hits, long misses, long bypasses, long rejectedFills, long invalidations) {
+        this.hits = hits;
+        this.misses = misses;
+        this.bypasses = bypasses;
+        this.rejectedFills = rejectedFills;
+        this.invalidations = invalidations;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    // Lookups that skipped the cache because a write to the slot was in progress
+    public long getBypasses() { return bypasses; }
+    // Fills discarded because a write touched the slot while the lookup ran
+    public long getRejectedFills() { return rejectedFills; }
+    // Writes that cleared a valid entry
+    public long getInvalidations() { return invalidations; }
+
+    public long getLookups() {
+        return hits + misses + bypasses;
+    }
+
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public CacheStats merge(CacheStats other) {
+        return new CacheStats(hits + other.hits, misses + other.misses, bypasses + other.bypasses,
+                rejectedFills + other.rejectedFills, invalidations + other.invalidations);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lookups=%d hit=%.2f%% bypass=%d rejectedFills=%d invalidations=%d",
+                getLookups(), 100 * getHitRate(), bypasses, rejectedFills, invalidations);
+    }
+}
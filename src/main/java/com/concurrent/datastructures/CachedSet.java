@@ -0,0 +1,188 @@
+package com.concurrent.datastructures;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Decorator that answers {@code contains} for recently looked-up keys from a direct-mapped,
+ * lock-free cache of membership results, so hot keys skip the tree walk or the global lock.
+ * Eviction is CLOCK within a slot: a hit sets the entry's referenced bit, and a miss on a
+ * referenced entry only clears the bit. A hot key thus survives one cold key sharing its slot.
+ *
+ * <p>Each slot is one {@code long} holding key, stamp, writer count, referenced, member and
+ * valid bits.
+ * A write to any key of a slot first increments the writer count and clears the valid bit,
+ * then updates the underlying set, then decrements the count and bumps the stamp. A lookup
+ * uses a cached answer only if no write is in progress on the slot. On a miss it fills the
+ * slot by CAS against the word it read before the lookup, so the fill fails if a write began
+ * or completed in the meantime. A cached answer therefore never outlives a write to its key.
+ * The 13-bit stamp could in theory wrap during one lookup; that needs 8192 writes on the
+ * slot within a single miss.
+ */
+public class CachedSet implements ConcurrentSet {
+
+    public static final int DEFAULT_SLOTS = 1 << 12;
+
+    private static final long VALID = 1L;
+    private static final long MEMBER = 1L << 1;
+    private static final long REFERENCED = 1L << 2;
+    private static final long WRITER_ONE = 1L << 3;
+    private static final long WRITERS = 0xFFFFL << 3;
+    private static final long STAMP_ONE = 1L << 19;
+    private static final long STAMP = 0x1FFFL << 19;
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ConcurrentSet delegate;
+    private final long[] slots;
+    private final int shift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder rejectedFills = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachedSet(ConcurrentSet delegate) {
+        this(delegate, DEFAULT_SLOTS);
+    }
+
+    public CachedSet(ConcurrentSet delegate, int slots) {
+        if (slots < 2 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("Cache slots must be a power of two >= 2: " + slots);
+        }
+        this.delegate = delegate;
+        this.slots = new long[slots];
+        this.shift = 32 - Integer.numberOfTrailingZeros(slots);
+    }
+
+    // Fibonacci hashing spreads neighbouring keys over the slots
+    private int index(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        int i = index(key);
+        long e = (long) SLOT.getVolatile(slots, i);
+        if ((e & WRITERS) != 0) {
+            bypasses.increment();
+            return delegate.contains(key);
+        }
+        if ((e & VALID) != 0 && (int) (e >>> 32) == key) {
+            hits.increment();
+            // Only the first hit after a fill or second chance writes to the slot
+            if ((e & REFERENCED) == 0) SLOT.compareAndSet(slots, i, e, e | REFERENCED);
+            return (e & MEMBER) != 0;
+        }
+        misses.increment();
+        boolean member = delegate.contains(key);
+        if ((e & (VALID | REFERENCED)) == (VALID | REFERENCED)) {
+            SLOT.compareAndSet(slots, i, e, e & ~REFERENCED);
+            return member;
+        }
+        long filled = ((long) key << 32) | (e & STAMP) | (member ? MEMBER : 0) | VALID;
+        if (!SLOT.compareAndSet(slots, i, e, filled)) {
+            // Losing to another reader's fill is harmless; losing to a writer is what the CAS is for
+            long now = (long) SLOT.getVolatile(slots, i);
+            if ((now & (WRITERS | STAMP)) != (e & (WRITERS | STAMP))) rejectedFills.increment();
+        }
+        return member;
+    }
+
+    @Override
+    public boolean insert(int key) {
+        int i = index(key);
+        beginWrite(i);
+        try {
+            return delegate.insert(key);
+        } finally {
+            endWrite(i);
+        }
+    }
+
+    @Override
+    public boolean remove(int key) {
+        int i = index(key);
+        beginWrite(i);
+        try {
+            return delegate.remove(key);
+        } finally {
+            endWrite(i);
+        }
+    }
+
+    private void beginWrite(int i) {
+        while (true) {
+            long e = (long) SLOT.getVolatile(slots, i);
+            if ((e & WRITERS) == WRITERS) {
+                // 65535 writers on one slot; wait for one to finish rather than overflow
+                Thread.onSpinWait();
+                continue;
+            }
+            if (SLOT.compareAndSet(slots, i, e, (e + WRITER_ONE) & ~(VALID | REFERENCED))) {
+                if ((e & VALID) != 0) invalidations.increment();
+                return;
+            }
+        }
+    }
+
+    private void endWrite(int i) {
+        while (true) {
+            long e = (long) SLOT.getVolatile(slots, i);
+            long stamp = (e + STAMP_ONE) & STAMP;
+            if (SLOT.compareAndSet(slots, i, e, ((e - WRITER_ONE) & ~(STAMP | VALID)) | stamp)) return;
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), bypasses.sum(), rejectedFills.sum(),
+                invalidations.sum());
+    }
+
+    /** Clears the counters, e.g. after prefill and warmup. */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        bypasses.reset();
+        rejectedFills.reset();
+        invalidations.reset();
+    }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        // Called before the set is shared, so no entry can be in use
+        for (int i = 0; i < slots.length; i++) SLOT.setVolatile(slots, i, 0L);
+        delegate.bulkLoad(sortedKeys);
+    }
+
+    @Override
+    public int maxDepth() {
+        return delegate.maxDepth();
+    }
+
+    @Override
+    public double averageDepth() {
+        return delegate.averageDepth();
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        delegate.forEachKey(action);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public void snapshotTo(Path file) throws IOException {
+        delegate.snapshotTo(file);
+    }
+}
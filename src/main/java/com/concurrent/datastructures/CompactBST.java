@@ -0,0 +1,55 @@
+package com.concurrent.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * {@link ConcurrentBST} with the per-node {@code ReentrantLock} (a lock object plus its
+ * sync object, about 48 bytes) replaced by an inline {@code int} lock word driven through a
+ * {@link VarHandle}. A node shrinks from roughly 80 to 32 bytes. The lock is a
+ * non-reentrant test-and-test-and-set spin lock that yields after a short spin; lock
+ * coupling never re-acquires a held node, so reentrancy is not needed. Not visible to
+ * {@code --lock-stats}.
+ */
+public class CompactBST extends ConcurrentBST {
+
+    // Spins before a waiting thread starts yielding its CPU
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    private static final VarHandle LOCK_STATE;
+
+    static {
+        try {
+            LOCK_STATE = MethodHandles.lookup().findVarHandle(SpinNode.class, "lockState", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class SpinNode extends Node {
+        volatile int lockState; // 0 free, 1 held
+
+        SpinNode(int k) {
+            super(k);
+        }
+
+        @Override
+        void lock() {
+            int spins = 0;
+            while (lockState != 0 || !LOCK_STATE.compareAndSet(this, 0, 1)) {
+                if (++spins < SPINS_BEFORE_YIELD) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        @Override
+        void unlock() { LOCK_STATE.setRelease(this, 0); }
+    }
+
+    public CompactBST() {
+        super(SpinNode::new);
+    }
+}
@@ -0,0 +1,98 @@
+package com.concurrent.datastructures;
+
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.function.IntConsumer;
+
+/**
+ * {@link RefinableHashSet} with array-backed bucket chains (see {@link IntChains}).
+ * Locking, load factor and the resize/refine policy are shared through
+ * {@link AbstractRefinableHashSet}, so differences against the original come from the node
+ * layout alone.
+ */
+public class CompactRefinableHashSet extends AbstractRefinableHashSet<int[][]> {
+
+    public CompactRefinableHashSet() {
+        this(1024);
+    }
+
+    public CompactRefinableHashSet(int initialCapacity) {
+        this(initialCapacity, LockKind.REENTRANT);
+    }
+
+    public CompactRefinableHashSet(int initialCapacity, LockFactory lockFactory) {
+        super("CompactRefinable", initialCapacity, lockFactory);
+    }
+
+    @Override
+    int[][] newTable(int capacity) {
+        return new int[capacity][];
+    }
+
+    @Override
+    int capacity(int[][] table) {
+        return table.length;
+    }
+
+    @Override
+    boolean contains(int[][] table, int index, int key) {
+        return IntChains.contains(table[index], key);
+    }
+
+    @Override
+    boolean add(int[][] table, int index, int key) {
+        if (IntChains.contains(table[index], key)) return false;
+        table[index] = IntChains.add(table[index], key);
+        return true;
+    }
+
+    @Override
+    boolean remove(int[][] table, int index, int key) {
+        int slot = IntChains.indexOf(table[index], key);
+        if (slot < 0) return false;
+        IntChains.removeAt(table[index], slot);
+        return true;
+    }
+
+    @Override
+    void forEach(int[][] table, int index, IntConsumer action) {
+        int[] chain = table[index];
+        for (int i = 1, n = IntChains.size(chain); i <= n; i++) action.accept(chain[i]);
+    }
+
+    @Override
+    int chainLength(int[][] table, int index) {
+        return IntChains.size(table[index]);
+    }
+
+    // Two passes: count per new bucket, then fill chains allocated at their exact size
+    @Override
+    int[][] rehash(int[][] oldBuckets, int newCapacity) {
+        int[] counts = new int[newCapacity];
+        for (int[] chain : oldBuckets) {
+            for (int i = 1, n = IntChains.size(chain); i <= n; i++) counts[hash(chain[i], newCapacity)]++;
+        }
+        int[][] table = new int[newCapacity][];
+        for (int h = 0; h < newCapacity; h++) {
+            if (counts[h] > 0) table[h] = new int[counts[h] + 1];
+        }
+        for (int[] chain : oldBuckets) {
+            for (int i = 1, n = IntChains.size(chain); i <= n; i++) {
+                int[] target = table[hash(chain[i], newCapacity)];
+                target[++target[0]] = chain[i];
+            }
+        }
+        return table;
+    }
+
+    // Wraps the keys as a single chain so bulk loading reuses rehash()
+    @Override
+    int[][] build(int[] sortedKeys, int capacity) {
+        if (sortedKeys.length == 0) return new int[capacity][];
+        int[] chain = new int[sortedKeys.length + 1];
+        chain[0] = sortedKeys.length;
+        System.arraycopy(sortedKeys, 0, chain, 1, sortedKeys.length);
+        return rehash(new int[][] {chain}, capacity);
+    }
+}
@@ -0,0 +1,129 @@
+package com.concurrent.datastructures;
+
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.Spliterator;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link StripedHashSet} with each bucket chain stored as an {@code int[]} (see
+ * {@link IntChains}) instead of linked 24-byte nodes: about 4 bytes per key plus slack,
+ * and scans run over contiguous memory.
+ */
+public class CompactStripedHashSet implements ConcurrentSet {
+
+    private final int[][] buckets;
+    private final Lock[] locks;
+
+    public CompactStripedHashSet(int stripes) {
+        this(stripes, LockKind.REENTRANT);
+    }
+
+    public CompactStripedHashSet(int stripes, LockFactory lockFactory) {
+        buckets = new int[stripes][];
+        locks = new Lock[stripes];
+        for (int i = 0; i < stripes; i++)
+            locks[i] = lockFactory.newLock("CompactStriped.stripe", i);
+    }
+
+    private int hash(int key) {
+        return Math.abs(key) % buckets.length;
+    }
+
+    @Override
+    public boolean insert(int key) {
+        int h = hash(key);
+        locks[h].lock();
+        try {
+            if (IntChains.contains(buckets[h], key)) return false;
+            buckets[h] = IntChains.add(buckets[h], key);
+            return true;
+        } finally {
+            locks[h].unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(int key) {
+        int h = hash(key);
+        locks[h].lock();
+        try {
+            int slot = IntChains.indexOf(buckets[h], key);
+            if (slot < 0) return false;
+            IntChains.removeAt(buckets[h], slot);
+            return true;
+        } finally {
+            locks[h].unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        int h = hash(key);
+        locks[h].lock();
+        try {
+            return IntChains.contains(buckets[h], key);
+        } finally {
+            locks[h].unlock();
+        }
+    }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        for (int[] bucket : buckets) BulkLoad.checkEmpty(IntChains.size(bucket) == 0);
+        // Count per bucket first so every chain is allocated once at its exact size
+        int[] counts = new int[buckets.length];
+        for (int key : sortedKeys) counts[hash(key)]++;
+        for (int h = 0; h < buckets.length; h++) {
+            if (counts[h] > 0) buckets[h] = new int[counts[h] + 1];
+        }
+        for (int key : sortedKeys) {
+            int[] chain = buckets[hash(key)];
+            chain[++chain[0]] = key;
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        for (int h = 0; h < buckets.length; h++) {
+            locks[h].lock();
+            try {
+                int[] chain = buckets[h];
+                for (int i = 1, n = IntChains.size(chain); i <= n; i++) action.accept(chain[i]);
+            } finally {
+                locks[h].unlock();
+            }
+        }
+    }
+
+    /** Splits by bucket ranges, like {@link StripedHashSet#spliterator()}. */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new BucketSpliterator((h, out) -> {
+            locks[h].lock();
+            try {
+                int[] chain = buckets[h];
+                for (int i = 1, n = IntChains.size(chain); i <= n; i++) out.add(chain[i]);
+            } finally {
+                locks[h].unlock();
+            }
+        }, buckets.length, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int maxDepth() {
+        int max = 0;
+        for (int h = 0; h < buckets.length; h++) {
+            locks[h].lock();
+            try {
+                max = Math.max(max, IntChains.size(buckets[h]));
+            } finally {
+                locks[h].unlock();
+            }
+        }
+        return max;
+    }
+}
@@ -1,6 +1,10 @@
 package com.concurrent.datastructures;
 
-import java.util.concurrent.locks.ReentrantLock;
+import com.concurrent.locks.LockStats;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntConsumer;
 
 public class ConcurrentAVL implements ConcurrentSet {
 
@@ -15,7 +19,7 @@ public class ConcurrentAVL implements ConcurrentSet {
     }
 
     private Node root;
-    private final ReentrantLock lock = new ReentrantLock();
+    private final Lock lock = LockStats.newLock("AVL.global", 0);
 
     // ---- Utility helpers ----
     private int height(Node n) { return n == null ? 0 : n.height; }
@@ -159,4 +163,70 @@ public class ConcurrentAVL implements ConcurrentSet {
         }
         return node;
     }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        lock.lock();
+        try {
+            BulkLoad.checkEmpty(root == null);
+            // Median-first construction gives a perfectly balanced (hence valid AVL) tree
+            root = BulkLoad.balancedTree(sortedKeys, (key, preorder, left, right) -> {
+                Node n = new Node(key);
+                n.left = left;
+                n.right = right;
+                n.height = Math.max(height(left), height(right)) + 1;
+                return n;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        lock.lock();
+        try {
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            if (root != null) stack.push(root);
+            while (!stack.isEmpty()) {
+                Node n = stack.pop();
+                action.accept(n.key);
+                if (n.left != null) stack.push(n.left);
+                if (n.right != null) stack.push(n.right);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int maxDepth() {
+        lock.lock();
+        try {
+            return height(root);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double averageDepth() {
+        lock.lock();
+        try {
+            long[] sumAndCount = new long[2];
+            depthSum(root, 1, sumAndCount);
+            return sumAndCount[1] == 0 ? 0 : (double) sumAndCount[0] / sumAndCount[1];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void depthSum(Node n, int depth, long[] sumAndCount) {
+        if (n == null) return;
+        sumAndCount[0] += depth;
+        sumAndCount[1]++;
+        depthSum(n.left, depth + 1, sumAndCount);
+        depthSum(n.right, depth + 1, sumAndCount);
+    }
 }
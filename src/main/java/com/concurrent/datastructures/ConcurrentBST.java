@@ -1,6 +1,13 @@
 package com.concurrent.datastructures;
 
-import java.util.concurrent.locks.ReentrantLock;
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Concurrent BST with fine-grained hand-over-hand (lock coupling) locking.
@@ -8,21 +15,82 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class ConcurrentBST implements ConcurrentSet {
 
-    private static class Node {
+    /**
+     * A tree node. The search and lock-coupling code only needs {@link #lock()} and
+     * {@link #unlock()}, so subclasses choose how the per-node lock is laid out.
+     */
+    abstract static class Node {
         int key;
         volatile Node left, right;
-        final ReentrantLock lock = new ReentrantLock();
 
         Node(int k) {
             key = k;
         }
 
+        abstract void lock();
+        abstract void unlock();
+    }
+
+    /** Node holding a lock object from the structure's {@link LockFactory}. */
+    private static final class LockNode extends Node {
+        final Lock lock;
+
+        LockNode(int k, Lock lock) {
+            super(k);
+            this.lock = lock;
+        }
+
+        @Override
         void lock() { lock.lock(); }
+
+        @Override
         void unlock() { lock.unlock(); }
     }
 
+    private static final SubtreeSpliterator.Shape<Node> SHAPE = new SubtreeSpliterator.Shape<>() {
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int key(Node node) {
+            return node.key;
+        }
+
+        @Override
+        public boolean live(Node node) {
+            return true;
+        }
+    };
+
+    private final IntFunction<Node> nodes;
+
     // Sentinel root node (never removed) - simplifies edge cases
-    private final Node root = new Node(Integer.MIN_VALUE);
+    private final Node root;
+
+    public ConcurrentBST() {
+        this(LockKind.REENTRANT);
+    }
+
+    public ConcurrentBST(LockFactory lockFactory) {
+        this(key -> new LockNode(key, lockFactory.newLock("BST.node", -1)));
+    }
+
+    /** Same algorithm over nodes created by {@code nodes}, e.g. with an inline lock word. */
+    ConcurrentBST(IntFunction<Node> nodes) {
+        this.nodes = nodes;
+        this.root = newNode(Integer.MIN_VALUE);
+    }
+
+    private Node newNode(int key) {
+        return nodes.apply(key);
+    }
 
     @Override
     public boolean contains(int key) {
@@ -46,7 +114,7 @@ public class ConcurrentBST implements ConcurrentSet {
             
             // If tree is empty
             if (curr == null) {
-                root.right = new Node(key);
+                root.right = newNode(key);
                 return true;
             }
             
@@ -58,7 +126,7 @@ public class ConcurrentBST implements ConcurrentSet {
                         return false; // Already exists
                     } else if (key < curr.key) {
                         if (curr.left == null) {
-                            curr.left = new Node(key);
+                            curr.left = newNode(key);
                             return true;
                         }
                         // Move down - lock child, unlock parent
@@ -69,7 +137,7 @@ public class ConcurrentBST implements ConcurrentSet {
                         curr = next;
                     } else {
                         if (curr.right == null) {
-                            curr.right = new Node(key);
+                            curr.right = newNode(key);
                             return true;
                         }
                         // Move down - lock child, unlock parent
@@ -144,7 +212,10 @@ public class ConcurrentBST implements ConcurrentSet {
                     while (succ.left != null) {
                         Node next = succ.left;
                         next.lock();
-                        succParent.unlock();
+                        // curr stays locked until the outer finally
+                        if (succParent != curr) {
+                            succParent.unlock();
+                        }
                         succParent = succ;
                         succ = next;
                     }
@@ -177,4 +248,73 @@ public class ConcurrentBST implements ConcurrentSet {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        BulkLoad.checkEmpty(root.right == null);
+        // Median-first construction gives a perfectly balanced tree
+        root.right = BulkLoad.balancedTree(sortedKeys, (key, preorder, left, right) -> {
+            Node n = newNode(key);
+            n.left = left;
+            n.right = right;
+            return n;
+        });
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        if (root.right != null) stack.push(root.right);
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            action.accept(n.key);
+            if (n.left != null) stack.push(n.left);
+            if (n.right != null) stack.push(n.right);
+        }
+    }
+
+    /** Splits by subtrees; reads are lock-free, so it is weakly consistent like {@link #contains}. */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new SubtreeSpliterator<>(SHAPE, root.right, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int maxDepth() {
+        // Iterative so a degenerate (list-shaped) tree cannot overflow the stack
+        if (root.right == null) return 0;
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root.right);
+        depths.push(1);
+        int max = 0;
+        while (!nodes.isEmpty()) {
+            Node n = nodes.pop();
+            int d = depths.pop();
+            if (d > max) max = d;
+            if (n.left != null) { nodes.push(n.left); depths.push(d + 1); }
+            if (n.right != null) { nodes.push(n.right); depths.push(d + 1); }
+        }
+        return max;
+    }
+
+    @Override
+    public double averageDepth() {
+        if (root.right == null) return 0;
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root.right);
+        depths.push(1);
+        long sum = 0, count = 0;
+        while (!nodes.isEmpty()) {
+            Node n = nodes.pop();
+            int d = depths.pop();
+            sum += d;
+            count++;
+            if (n.left != null) { nodes.push(n.left); depths.push(d + 1); }
+            if (n.right != null) { nodes.push(n.right); depths.push(d + 1); }
+        }
+        return (double) sum / count;
+    }
+}
@@ -1,7 +1,70 @@
 package com.concurrent.datastructures;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
 public interface ConcurrentSet {
     boolean insert(int key);
     boolean remove(int key);
     boolean contains(int key);
+
+    /**
+     * Builds the set directly from strictly ascending keys. Must be called on an empty set
+     * before it is shared with other threads. Implementations override this with a balanced
+     * or presized construction; the default falls back to individual inserts.
+     */
+    default void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        for (int key : sortedKeys) {
+            insert(key);
+        }
+    }
+
+    /**
+     * Length of the longest search path: tree depth, or the longest bucket chain for hash sets.
+     * Only meaningful while the set is quiescent; -1 if the structure does not track it.
+     */
+    default int maxDepth() {
+        return -1;
+    }
+
+    /**
+     * Mean number of nodes on the search path to a present key, the average-case counterpart
+     * of {@link #maxDepth()} for trees. Same quiescence caveat; -1 if not tracked.
+     */
+    default double averageDepth() {
+        return -1;
+    }
+
+    /**
+     * Passes every key to {@code action}, in no particular order. Like {@link #maxDepth()},
+     * only consistent while the set is quiescent. Snapshots, spliterators and set algebra
+     * build on it, so every structure must enumerate its keys.
+     */
+    void forEachKey(IntConsumer action);
+
+    /**
+     * Spliterator over the keys for parallel scans (see {@link SetAlgebra}). Structures that
+     * split naturally return a weakly consistent one; the default copies the keys out through
+     * {@link #forEachKey}, so it is an atomic snapshot wherever that method runs under one lock.
+     */
+    default Spliterator.OfInt spliterator() {
+        IntList keys = new IntList(1024);
+        forEachKey(keys::add);
+        return Spliterators.spliterator(keys.array(), 0, keys.size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /** Writes the keys, sorted, to a snapshot file that {@link #restoreFrom(Path)} can load. */
+    default void snapshotTo(Path file) throws IOException {
+        SetSnapshot.write(this, file);
+    }
+
+    /** Fills this empty set from a snapshot file through {@link #bulkLoad(int[])}. */
+    default void restoreFrom(Path file) throws IOException {
+        bulkLoad(SetSnapshot.read(file));
+    }
 }
@@ -1,7 +1,12 @@
 package com.concurrent.datastructures;
 
+import com.concurrent.locks.LockStats;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntConsumer;
 
 public class ConcurrentTreap implements ConcurrentSet {
 
@@ -17,7 +22,7 @@ public class ConcurrentTreap implements ConcurrentSet {
     }
 
     private Node root;
-    private final ReentrantLock lock = new ReentrantLock();
+    private final Lock lock = LockStats.newLock("Treap.global", 0);
 
     private Node rotateRight(Node y) {
         Node x = y.left;
@@ -117,4 +122,81 @@ public class ConcurrentTreap implements ConcurrentSet {
         }
         return node;
     }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        // Draw random priorities and hand them out in preorder, largest first, so the
+        // balanced shape also satisfies the heap property
+        int[] priorities = new int[sortedKeys.length];
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < priorities.length; i++) priorities[i] = rnd.nextInt();
+        Arrays.sort(priorities);
+
+        lock.lock();
+        try {
+            BulkLoad.checkEmpty(root == null);
+            int last = priorities.length - 1;
+            root = BulkLoad.balancedTree(sortedKeys, (key, preorder, left, right) -> {
+                Node n = new Node(key);
+                n.priority = priorities[last - preorder];
+                n.left = left;
+                n.right = right;
+                return n;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        lock.lock();
+        try {
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            if (root != null) stack.push(root);
+            while (!stack.isEmpty()) {
+                Node n = stack.pop();
+                action.accept(n.key);
+                if (n.left != null) stack.push(n.left);
+                if (n.right != null) stack.push(n.right);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int maxDepth() {
+        lock.lock();
+        try {
+            return depth(root);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int depth(Node n) {
+        return n == null ? 0 : 1 + Math.max(depth(n.left), depth(n.right));
+    }
+
+    @Override
+    public double averageDepth() {
+        lock.lock();
+        try {
+            long[] sumAndCount = new long[2];
+            depthSum(root, 1, sumAndCount);
+            return sumAndCount[1] == 0 ? 0 : (double) sumAndCount[0] / sumAndCount[1];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void depthSum(Node n, int depth, long[] sumAndCount) {
+        if (n == null) return;
+        sumAndCount[0] += depth;
+        sumAndCount[1]++;
+        depthSum(n.left, depth + 1, sumAndCount);
+        depthSum(n.right, depth + 1, sumAndCount);
+    }
 }
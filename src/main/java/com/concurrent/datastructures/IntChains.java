@@ -0,0 +1,50 @@
+package com.concurrent.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Array-backed bucket chains for the compact hash sets. A chain is an {@code int[]} whose
+ * slot 0 holds the element count and slots 1..count the keys, in no particular order;
+ * {@code null} is an empty chain. Callers hold the bucket's lock.
+ */
+final class IntChains {
+
+    // Count + 1 key: most chains of a hash set below its load factor hold one or two keys
+    private static final int INITIAL_LENGTH = 2;
+
+    private IntChains() {}
+
+    static int size(int[] chain) {
+        return chain == null ? 0 : chain[0];
+    }
+
+    static boolean contains(int[] chain, int key) {
+        return indexOf(chain, key) > 0;
+    }
+
+    /** Slot of {@code key}, or -1. */
+    static int indexOf(int[] chain, int key) {
+        if (chain == null) return -1;
+        for (int i = 1, end = chain[0]; i <= end; i++) {
+            if (chain[i] == key) return i;
+        }
+        return -1;
+    }
+
+    /** Appends {@code key}, growing by half (at least one slot) when full; returns the (possibly new) chain. */
+    static int[] add(int[] chain, int key) {
+        if (chain == null) {
+            chain = new int[INITIAL_LENGTH];
+        } else if (chain[0] + 1 == chain.length) {
+            chain = Arrays.copyOf(chain, chain.length + Math.max(1, chain.length >> 1));
+        }
+        chain[++chain[0]] = key;
+        return chain;
+    }
+
+    /** Removes the key in {@code slot} by moving the last key into it. */
+    static void removeAt(int[] chain, int slot) {
+        chain[slot] = chain[chain[0]];
+        chain[0]--;
+    }
+}
@@ -0,0 +1,48 @@
+package com.concurrent.datastructures;
+
+import java.util.Arrays;
+
+/** Growable array of ints, used to copy keys out of a set without boxing. */
+final class IntList {
+
+    private int[] keys;
+    private int size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        keys = new int[Math.max(1, capacity)];
+    }
+
+    void add(int key) {
+        if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+        keys[size++] = key;
+    }
+
+    void addAll(IntList other) {
+        if (size + other.size > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.keys, 0, keys, size, other.size);
+        size += other.size;
+    }
+
+    int get(int index) {
+        return keys[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** The backing array; only the first {@link #size()} entries are keys. */
+    int[] array() {
+        return keys;
+    }
+}
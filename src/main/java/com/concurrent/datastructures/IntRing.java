@@ -0,0 +1,65 @@
+package com.concurrent.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded multi-producer, single-consumer queue of {@code int}s in preallocated arrays
+ * (Vyukov's sequence-numbered ring). {@link #offer} never blocks: it fails when the ring is
+ * full, and the producer decides what a dropped value means.
+ */
+final class IntRing {
+
+    /** Returned by {@link #poll()} when the ring is empty. */
+    static final long EMPTY = Long.MIN_VALUE;
+
+    private static final VarHandle SEQ = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int[] values;
+    private final long[] sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only touched by the consumer
+    private long head;
+
+    IntRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two >= 2: " + capacity);
+        }
+        values = new int[capacity];
+        sequences = new long[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) sequences[i] = i;
+    }
+
+    boolean offer(int value) {
+        long pos = tail.get();
+        while (true) {
+            int slot = (int) (pos & mask);
+            long diff = (long) SEQ.getAcquire(sequences, slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    values[slot] = value;
+                    SEQ.setRelease(sequences, slot, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /** The oldest value widened to {@code long}, or {@link #EMPTY}. Single consumer only. */
+    long poll() {
+        int slot = (int) (head & mask);
+        if ((long) SEQ.getAcquire(sequences, slot) != head + 1) return EMPTY;
+        int value = values[slot];
+        SEQ.setRelease(sequences, slot, head + mask + 1);
+        head++;
+        return value;
+    }
+}
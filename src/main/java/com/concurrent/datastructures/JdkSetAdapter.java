@@ -0,0 +1,59 @@
+package com.concurrent.datastructures;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link ConcurrentSet} view of a thread-safe {@code Set<Integer>} from the JDK, used as a
+ * baseline for the custom structures. Keys are boxed through {@link BoxCache}.
+ */
+public class JdkSetAdapter implements ConcurrentSet {
+
+    private final Set<Integer> set;
+
+    public JdkSetAdapter(Set<Integer> set) {
+        this.set = set;
+    }
+
+    /** {@code ConcurrentHashMap.newKeySet()}: lock-free reads, per-bin locking on writes. */
+    public static JdkSetAdapter concurrentHashSet() {
+        return new JdkSetAdapter(ConcurrentHashMap.newKeySet());
+    }
+
+    /** {@code ConcurrentSkipListSet}: lock-free sorted set. */
+    public static JdkSetAdapter skipListSet() {
+        return new JdkSetAdapter(new ConcurrentSkipListSet<>());
+    }
+
+    /** {@code Collections.synchronizedSet(new HashSet<>())}: one monitor for everything. */
+    public static JdkSetAdapter synchronizedHashSet() {
+        return new JdkSetAdapter(Collections.synchronizedSet(new HashSet<>()));
+    }
+
+    @Override
+    public boolean insert(int key) {
+        return set.add(BoxCache.box(key));
+    }
+
+    @Override
+    public boolean remove(int key) {
+        return set.remove(BoxCache.box(key));
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return set.contains(BoxCache.box(key));
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        // Iterating a synchronizedSet requires holding its monitor
+        synchronized (set) {
+            for (Integer key : set) action.accept(key);
+        }
+    }
+}
@@ -1,18 +1,16 @@
 package com.concurrent.datastructures;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.function.IntConsumer;
 
 /**
- * Refinable HashSet with:
- * - Lock striping (multiple locks for different buckets)
- * - Dynamic resizing when load factor exceeded
- * - Read-write lock for resize operations
+ * Refinable HashSet (see {@link AbstractRefinableHashSet}) with linked bucket chains.
  */
-public class RefinableHashSet implements ConcurrentSet {
+public class RefinableHashSet extends AbstractRefinableHashSet<RefinableHashSet.Node[]> {
 
-    private static class Node {
+    static final class Node {
         int key;
         Node next;
 
@@ -22,173 +20,100 @@ public class RefinableHashSet implements ConcurrentSet {
         }
     }
 
-    private static final float LOAD_FACTOR = 0.75f;
-    private static final int MIN_BUCKETS = 16;
-
-    private volatile Node[] buckets;
-    private volatile ReentrantLock[] locks;
-    private volatile int numLocks;
-    private final AtomicInteger size = new AtomicInteger(0);
-    private final ReentrantReadWriteLock resizeLock = new ReentrantReadWriteLock();
-
     public RefinableHashSet() {
         this(1024);
     }
 
     public RefinableHashSet(int initialCapacity) {
-        int capacity = Math.max(MIN_BUCKETS, initialCapacity);
-        this.buckets = new Node[capacity];
-        this.numLocks = Math.min(capacity, Runtime.getRuntime().availableProcessors() * 4);
-        this.locks = new ReentrantLock[numLocks];
-        for (int i = 0; i < numLocks; i++) {
-            locks[i] = new ReentrantLock();
-        }
+        this(initialCapacity, LockKind.REENTRANT);
     }
 
-    private int hash(int key, int capacity) {
-        return Math.abs(key % capacity);
+    public RefinableHashSet(int initialCapacity, LockFactory lockFactory) {
+        super("Refinable", initialCapacity, lockFactory);
     }
 
-    private ReentrantLock getLock(int bucketIndex) {
-        return locks[bucketIndex % numLocks];
+    @Override
+    Node[] newTable(int capacity) {
+        return new Node[capacity];
     }
 
     @Override
-    public boolean contains(int key) {
-        resizeLock.readLock().lock();
-        try {
-            Node[] table = buckets;
-            int index = hash(key, table.length);
-            ReentrantLock lock = getLock(index);
-            
-            lock.lock();
-            try {
-                for (Node curr = table[index]; curr != null; curr = curr.next) {
-                    if (curr.key == key) return true;
-                }
-                return false;
-            } finally {
-                lock.unlock();
-            }
-        } finally {
-            resizeLock.readLock().unlock();
+    int capacity(Node[] table) {
+        return table.length;
+    }
+
+    @Override
+    boolean contains(Node[] table, int index, int key) {
+        for (Node curr = table[index]; curr != null; curr = curr.next) {
+            if (curr.key == key) return true;
         }
+        return false;
     }
 
     @Override
-    public boolean insert(int key) {
-        resizeLock.readLock().lock();
-        try {
-            Node[] table = buckets;
-            int index = hash(key, table.length);
-            ReentrantLock lock = getLock(index);
-            
-            lock.lock();
-            try {
-                // Check if already exists
-                for (Node curr = table[index]; curr != null; curr = curr.next) {
-                    if (curr.key == key) return false;
-                }
-                // Insert at head
-                table[index] = new Node(key, table[index]);
-                int currentSize = size.incrementAndGet();
-                
-                // Check if resize needed (do it outside lock)
-                if (currentSize > table.length * LOAD_FACTOR) {
-                    lock.unlock();
-                    resizeLock.readLock().unlock();
-                    resize();
-                    return true;
+    boolean add(Node[] table, int index, int key) {
+        if (contains(table, index, key)) return false;
+        // Insert at head
+        table[index] = new Node(key, table[index]);
+        return true;
+    }
+
+    @Override
+    boolean remove(Node[] table, int index, int key) {
+        Node curr = table[index];
+        Node prev = null;
+
+        while (curr != null) {
+            if (curr.key == key) {
+                if (prev == null) {
+                    table[index] = curr.next;
+                } else {
+                    prev.next = curr.next;
                 }
                 return true;
-            } finally {
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                }
-            }
-        } finally {
-            if (resizeLock.getReadHoldCount() > 0) {
-                resizeLock.readLock().unlock();
             }
+            prev = curr;
+            curr = curr.next;
         }
+        return false;
     }
 
     @Override
-    public boolean remove(int key) {
-        resizeLock.readLock().lock();
-        try {
-            Node[] table = buckets;
-            int index = hash(key, table.length);
-            ReentrantLock lock = getLock(index);
-            
-            lock.lock();
-            try {
-                Node curr = table[index];
-                Node prev = null;
-                
-                while (curr != null) {
-                    if (curr.key == key) {
-                        if (prev == null) {
-                            table[index] = curr.next;
-                        } else {
-                            prev.next = curr.next;
-                        }
-                        size.decrementAndGet();
-                        return true;
-                    }
-                    prev = curr;
-                    curr = curr.next;
-                }
-                return false;
-            } finally {
-                lock.unlock();
+    void forEach(Node[] table, int index, IntConsumer action) {
+        for (Node curr = table[index]; curr != null; curr = curr.next) action.accept(curr.key);
+    }
+
+    @Override
+    int chainLength(Node[] table, int index) {
+        int len = 0;
+        for (Node curr = table[index]; curr != null; curr = curr.next) len++;
+        return len;
+    }
+
+    // Relinks the existing nodes rather than copying them
+    @Override
+    Node[] rehash(Node[] oldBuckets, int newCapacity) {
+        Node[] newBuckets = new Node[newCapacity];
+        for (Node head : oldBuckets) {
+            Node curr = head;
+            while (curr != null) {
+                Node next = curr.next;
+                int newIndex = hash(curr.key, newCapacity);
+                curr.next = newBuckets[newIndex];
+                newBuckets[newIndex] = curr;
+                curr = next;
             }
-        } finally {
-            resizeLock.readLock().unlock();
         }
+        return newBuckets;
     }
 
-    private void resize() {
-        resizeLock.writeLock().lock();
-        try {
-            Node[] oldBuckets = buckets;
-            int oldCapacity = oldBuckets.length;
-            
-            // Double check resize is still needed
-            if (size.get() <= oldCapacity * LOAD_FACTOR) {
-                return;
-            }
-            
-            int newCapacity = oldCapacity * 2;
-            Node[] newBuckets = new Node[newCapacity];
-            
-            // Rehash all elements
-            for (int i = 0; i < oldCapacity; i++) {
-                Node curr = oldBuckets[i];
-                while (curr != null) {
-                    Node next = curr.next;
-                    int newIndex = hash(curr.key, newCapacity);
-                    curr.next = newBuckets[newIndex];
-                    newBuckets[newIndex] = curr;
-                    curr = next;
-                }
-            }
-            
-            // Update number of locks if needed (refine)
-            int newNumLocks = Math.min(newCapacity, numLocks * 2);
-            if (newNumLocks > numLocks) {
-                ReentrantLock[] newLocks = new ReentrantLock[newNumLocks];
-                for (int i = 0; i < newNumLocks; i++) {
-                    newLocks[i] = new ReentrantLock();
-                }
-                locks = newLocks;
-                numLocks = newNumLocks;
-            }
-            
-            buckets = newBuckets;
-            
-        } finally {
-            resizeLock.writeLock().unlock();
+    @Override
+    Node[] build(int[] sortedKeys, int capacity) {
+        Node[] table = new Node[capacity];
+        for (int key : sortedKeys) {
+            int index = hash(key, capacity);
+            table[index] = new Node(key, table[index]);
         }
+        return table;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,464 @@
+package com.concurrent.datastructures;
+
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * AVL tree with relaxed balance: updates never rotate. An insert links a leaf under one node
+ * lock, and a remove only marks its node deleted (deleted nodes with two children stay as
+ * routing nodes). Each update then leaves its key in a hint ring. A maintenance thread
+ * walks each hinted key's search path bottom up, unlinks deleted nodes with at most one
+ * child, refreshes heights and rotates where the AVL condition is violated. If the ring
+ * overflows, the thread makes one full post-order pass instead.
+ *
+ * <p>Rotations copy the node that moves down and retire the original, which keeps its
+ * children. A lock-free {@code contains} that is standing on the original therefore still
+ * reaches every key below it. Updates that lock a retired node retry from the root. Reads
+ * check {@code retired} after {@code deleted}, so they never return a retired node's stale
+ * flag.
+ *
+ * <p>Owns a daemon thread, started by the constructor; {@link #close()} stops it. The class
+ * is final so no subclass state can be read by that thread before it is initialised.
+ */
+public final class RelaxedAVL implements ConcurrentSet, AutoCloseable {
+
+    private static final int HINT_CAPACITY = 1 << 16;
+    private static final long IDLE_PARK_NANOS = 200_000;
+    // Rotations per node visit; any remaining imbalance is fixed on a later visit
+    private static final int MAX_FIX_ROUNDS = 64;
+
+    private static final class Node {
+        final int key;
+        volatile Node left, right;
+        volatile boolean deleted;
+        // Replaced by a rotated copy or unlinked; an update that locks it must retry
+        volatile boolean retired;
+        // Written by the maintenance thread only (and by bulkLoad before sharing)
+        int height = 1;
+        final Lock lock;
+
+        Node(int key, Lock lock) {
+            this.key = key;
+            this.lock = lock;
+        }
+    }
+
+    private static final SubtreeSpliterator.Shape<Node> SHAPE = new SubtreeSpliterator.Shape<>() {
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int key(Node node) {
+            return node.key;
+        }
+
+        @Override
+        public boolean live(Node node) {
+            return !node.deleted;
+        }
+    };
+
+    private final LockFactory lockFactory;
+
+    // Sentinel root node (never removed); the tree hangs off root.right
+    private final Node root;
+
+    private final IntRing hints = new IntRing(HINT_CAPACITY);
+    private volatile boolean hintsDropped;
+    private volatile boolean closed;
+    private final Thread maintainer;
+
+    public RelaxedAVL() {
+        this(LockKind.REENTRANT);
+    }
+
+    public RelaxedAVL(LockFactory lockFactory) {
+        this.lockFactory = lockFactory;
+        this.root = newNode(Integer.MIN_VALUE);
+        this.maintainer = Thread.ofPlatform().daemon().name("relaxed-avl-maintenance").unstarted(this::maintain);
+        maintainer.start();
+    }
+
+    private Node newNode(int key) {
+        return new Node(key, lockFactory.newLock("RelaxedAVL.node", -1));
+    }
+
+    @Override
+    public boolean contains(int key) {
+        while (true) {
+            Node n = find(key);
+            if (n == null) return false;
+            boolean deleted = n.deleted;
+            if (!n.retired) return !deleted;
+        }
+    }
+
+    @Override
+    public boolean insert(int key) {
+        while (true) {
+            Node parent = root;
+            Node curr = root.right;
+            while (curr != null && curr.key != key) {
+                parent = curr;
+                curr = key < curr.key ? curr.left : curr.right;
+            }
+
+            if (curr != null) {
+                // Present or logically deleted: flip the flag, the shape does not change
+                if (!curr.deleted && !curr.retired) return false;
+                curr.lock.lock();
+                try {
+                    if (curr.retired) continue;
+                    if (!curr.deleted) return false;
+                    curr.deleted = false;
+                    return true;
+                } finally {
+                    curr.lock.unlock();
+                }
+            }
+
+            parent.lock.lock();
+            try {
+                if (parent.retired) continue;
+                boolean left = parent != root && key < parent.key;
+                if ((left ? parent.left : parent.right) != null) continue;
+                Node node = newNode(key);
+                if (left) parent.left = node;
+                else parent.right = node;
+            } finally {
+                parent.lock.unlock();
+            }
+            hint(key);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean remove(int key) {
+        while (true) {
+            Node n = find(key);
+            if (n == null) return false;
+            if (n.deleted && !n.retired) return false;
+            n.lock.lock();
+            try {
+                if (n.retired) continue;
+                if (n.deleted) return false;
+                n.deleted = true;
+            } finally {
+                n.lock.unlock();
+            }
+            // The node may now be unlinkable
+            hint(key);
+            return true;
+        }
+    }
+
+    private Node find(int key) {
+        Node curr = root.right;
+        while (curr != null && curr.key != key) {
+            curr = key < curr.key ? curr.left : curr.right;
+        }
+        return curr;
+    }
+
+    private void hint(int key) {
+        if (!hints.offer(key)) hintsDropped = true;
+    }
+
+    // ---- Maintenance thread ----
+
+    private void maintain() {
+        ArrayList<Node> path = new ArrayList<>();
+        while (!closed) {
+            if (hintsDropped) {
+                hintsDropped = false;
+                // The pass covers every queued key
+                while (hints.poll() != IntRing.EMPTY) { }
+                fullPass();
+                continue;
+            }
+            long hint = hints.poll();
+            if (hint == IntRing.EMPTY) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            } else {
+                repairPath((int) hint, path);
+            }
+        }
+    }
+
+    // Repairs the search path of key bottom up, stopping once a node's height is unchanged
+    private void repairPath(int key, ArrayList<Node> path) {
+        path.clear();
+        path.add(root);
+        for (Node curr = root.right; curr != null; curr = key < curr.key ? curr.left : curr.right) {
+            path.add(curr);
+            if (curr.key == key) break;
+        }
+        for (int i = path.size() - 1; i >= 1; i--) {
+            Node node = path.get(i);
+            int before = node.height;
+            Node top = repair(path.get(i - 1), node);
+            if (top == node && node.height == before && i < path.size() - 1) break;
+        }
+        path.clear();
+    }
+
+    // Post-order over the whole tree, after hints were lost to a full ring
+    private void fullPass() {
+        if (root.right == null) return;
+        Node[] nodes = new Node[64];
+        Node[] parents = new Node[64];
+        boolean[] expanded = new boolean[64];
+        nodes[0] = root.right;
+        parents[0] = root;
+        int sp = 1;
+        while (sp > 0 && !closed) {
+            int top = sp - 1;
+            Node n = nodes[top];
+            if (expanded[top]) {
+                sp--;
+                repair(parents[top], n);
+                continue;
+            }
+            expanded[top] = true;
+            if (sp + 2 > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                parents = Arrays.copyOf(parents, parents.length * 2);
+                expanded = Arrays.copyOf(expanded, expanded.length * 2);
+            }
+            Node l = n.left, r = n.right;
+            if (r != null) { nodes[sp] = r; parents[sp] = n; expanded[sp] = false; sp++; }
+            if (l != null) { nodes[sp] = l; parents[sp] = n; expanded[sp] = false; sp++; }
+        }
+    }
+
+    // Unlinks node if it is deleted with at most one child, otherwise rebalances it; returns what now hangs in its place
+    private Node repair(Node parent, Node node) {
+        if (node.deleted && (node.left == null || node.right == null)) {
+            // A retired node keeps its children, so the one that replaced it can be read back
+            if (unlink(parent, node)) return node.left != null ? node.left : node.right;
+        }
+        return rebalance(parent, node);
+    }
+
+    private boolean unlink(Node parent, Node node) {
+        parent.lock.lock();
+        try {
+            node.lock.lock();
+            try {
+                if (parent.retired || node.retired || !node.deleted) return false;
+                if (parent.left != node && parent.right != node) return false;
+                if (node.left != null && node.right != null) return false;
+                replaceChild(parent, node, node.left != null ? node.left : node.right);
+                node.retired = true;
+                return true;
+            } finally {
+                node.lock.unlock();
+            }
+        } finally {
+            parent.lock.unlock();
+        }
+    }
+
+    private Node rebalance(Node parent, Node n) {
+        for (int round = 0; round < MAX_FIX_ROUNDS; round++) {
+            int balance = height(n.left) - height(n.right);
+            Node top;
+            if (balance > 1) {
+                Node l = n.left;
+                if (height(l.left) < height(l.right) && rotateLeft(n, l) == null) break;
+                if ((top = rotateRight(parent, n)) == null) break;
+                // The copy of n that moved down may itself be out of balance
+                rebalance(top, top.right);
+            } else if (balance < -1) {
+                Node r = n.right;
+                if (height(r.right) < height(r.left) && rotateRight(n, r) == null) break;
+                if ((top = rotateLeft(parent, n)) == null) break;
+                rebalance(top, top.left);
+            } else {
+                break;
+            }
+            updateHeight(top);
+            n = top;
+        }
+        updateHeight(n);
+        return n;
+    }
+
+    // Right rotation at n: its left child moves up and a copy of n moves down. Null if n changed meanwhile.
+    private Node rotateRight(Node parent, Node n) {
+        parent.lock.lock();
+        try {
+            n.lock.lock();
+            try {
+                Node l = n.left;
+                if (l == null || parent.retired || n.retired) return null;
+                if (parent.left != n && parent.right != n) return null;
+                l.lock.lock();
+                try {
+                    Node copy = newNode(n.key);
+                    copy.deleted = n.deleted;
+                    copy.left = l.right;
+                    copy.right = n.right;
+                    updateHeight(copy);
+                    l.right = copy;
+                    replaceChild(parent, n, l);
+                    n.retired = true;
+                    updateHeight(l);
+                    return l;
+                } finally {
+                    l.lock.unlock();
+                }
+            } finally {
+                n.lock.unlock();
+            }
+        } finally {
+            parent.lock.unlock();
+        }
+    }
+
+    private Node rotateLeft(Node parent, Node n) {
+        parent.lock.lock();
+        try {
+            n.lock.lock();
+            try {
+                Node r = n.right;
+                if (r == null || parent.retired || n.retired) return null;
+                if (parent.left != n && parent.right != n) return null;
+                r.lock.lock();
+                try {
+                    Node copy = newNode(n.key);
+                    copy.deleted = n.deleted;
+                    copy.right = r.left;
+                    copy.left = n.left;
+                    updateHeight(copy);
+                    r.left = copy;
+                    replaceChild(parent, n, r);
+                    n.retired = true;
+                    updateHeight(r);
+                    return r;
+                } finally {
+                    r.lock.unlock();
+                }
+            } finally {
+                n.lock.unlock();
+            }
+        } finally {
+            parent.lock.unlock();
+        }
+    }
+
+    private static void replaceChild(Node parent, Node child, Node replacement) {
+        if (parent.left == child) parent.left = replacement;
+        else parent.right = replacement;
+    }
+
+    private static int height(Node n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static void updateHeight(Node n) {
+        n.height = Math.max(height(n.left), height(n.right)) + 1;
+    }
+
+    /** Stops the maintenance thread. The tree stays usable but is no longer rebalanced. */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(maintainer);
+        try {
+            maintainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---- Bulk operations and shape statistics (quiescent use) ----
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        BulkLoad.checkEmpty(root.right == null);
+        root.right = BulkLoad.balancedTree(sortedKeys, (key, preorder, left, right) -> {
+            Node n = newNode(key);
+            n.left = left;
+            n.right = right;
+            updateHeight(n);
+            return n;
+        });
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        if (root.right != null) stack.push(root.right);
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            if (!n.deleted) action.accept(n.key);
+            if (n.left != null) stack.push(n.left);
+            if (n.right != null) stack.push(n.right);
+        }
+    }
+
+    /** Splits by subtrees, skipping deleted routing nodes; weakly consistent like {@link #contains}. */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new SubtreeSpliterator<>(SHAPE, root.right, Long.MAX_VALUE);
+    }
+
+    /** Longest search path, counting deleted routing nodes. */
+    @Override
+    public int maxDepth() {
+        if (root.right == null) return 0;
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root.right);
+        depths.push(1);
+        int max = 0;
+        while (!nodes.isEmpty()) {
+            Node n = nodes.pop();
+            int d = depths.pop();
+            if (d > max) max = d;
+            if (n.left != null) { nodes.push(n.left); depths.push(d + 1); }
+            if (n.right != null) { nodes.push(n.right); depths.push(d + 1); }
+        }
+        return max;
+    }
+
+    /** Mean search path length to the present keys; deleted routing nodes add depth but are not counted. */
+    @Override
+    public double averageDepth() {
+        if (root.right == null) return 0;
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root.right);
+        depths.push(1);
+        long sum = 0, count = 0;
+        while (!nodes.isEmpty()) {
+            Node n = nodes.pop();
+            int d = depths.pop();
+            if (!n.deleted) {
+                sum += d;
+                count++;
+            }
+            if (n.left != null) { nodes.push(n.left); depths.push(d + 1); }
+            if (n.right != null) { nodes.push(n.right); depths.push(d + 1); }
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
@@ -0,0 +1,145 @@
+package com.concurrent.datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Fork/join scans and set algebra over {@link ConcurrentSet#spliterator()}. A scan splits the
+ * spliterator until each piece is about 1/(4 * parallelism) of the estimate, as parallel
+ * streams do. The binary operations collect the matching keys of their operands in parallel,
+ * sort them and {@link ConcurrentSet#bulkLoad(int[]) bulk load} an empty target set, so a
+ * tree result comes out balanced. They are as consistent as the operands' spliterators:
+ * with updates running, the result may reflect each operand at different moments.
+ */
+public final class SetAlgebra {
+
+    private SetAlgebra() {}
+
+    public static void forEachParallel(ConcurrentSet set, IntConsumer action) {
+        forEachParallel(set, action, ForkJoinPool.commonPool());
+    }
+
+    /** Passes every key to {@code action}, possibly concurrently from several pool threads. */
+    public static void forEachParallel(ConcurrentSet set, IntConsumer action, ForkJoinPool pool) {
+        Spliterator.OfInt keys = set.spliterator();
+        pool.invoke(new ForEachTask(keys, action, threshold(keys, pool)));
+    }
+
+    /** Fills the empty {@code target} with a ∪ b and returns it. */
+    public static <S extends ConcurrentSet> S union(ConcurrentSet a, ConcurrentSet b, S target, ForkJoinPool pool) {
+        target.bulkLoad(unionKeys(a, b, pool));
+        return target;
+    }
+
+    /** Fills the empty {@code target} with a ∩ b and returns it. */
+    public static <S extends ConcurrentSet> S intersect(ConcurrentSet a, ConcurrentSet b, S target, ForkJoinPool pool) {
+        target.bulkLoad(intersectKeys(a, b, pool));
+        return target;
+    }
+
+    /** Fills the empty {@code target} with a \ b and returns it. */
+    public static <S extends ConcurrentSet> S difference(ConcurrentSet a, ConcurrentSet b, S target, ForkJoinPool pool) {
+        target.bulkLoad(differenceKeys(a, b, pool));
+        return target;
+    }
+
+    /** The keys of a ∪ b in ascending order, computed without building a result set. */
+    public static int[] unionKeys(ConcurrentSet a, ConcurrentSet b, ForkJoinPool pool) {
+        IntList keys = collect(a, key -> true, pool);
+        keys.addAll(collect(b, key -> true, pool));
+        return sortedDistinct(keys);
+    }
+
+    /** The keys of a ∩ b in ascending order. */
+    public static int[] intersectKeys(ConcurrentSet a, ConcurrentSet b, ForkJoinPool pool) {
+        return sortedDistinct(collect(a, b::contains, pool));
+    }
+
+    /** The keys of a \ b in ascending order. */
+    public static int[] differenceKeys(ConcurrentSet a, ConcurrentSet b, ForkJoinPool pool) {
+        return sortedDistinct(collect(a, key -> !b.contains(key), pool));
+    }
+
+    private static IntList collect(ConcurrentSet set, IntPredicate filter, ForkJoinPool pool) {
+        Spliterator.OfInt keys = set.spliterator();
+        return pool.invoke(new CollectTask(keys, filter, threshold(keys, pool)));
+    }
+
+    // Weakly consistent tree spliterators may report a key twice, so deduplicate regardless
+    private static int[] sortedDistinct(IntList list) {
+        int[] keys = Arrays.copyOf(list.array(), list.size());
+        Arrays.parallelSort(keys);
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (n == 0 || keys[i] != keys[n - 1]) keys[n++] = keys[i];
+        }
+        return n == keys.length ? keys : Arrays.copyOf(keys, n);
+    }
+
+    private static long threshold(Spliterator.OfInt keys, ForkJoinPool pool) {
+        return Math.max(1, keys.estimateSize() / (pool.getParallelism() * 4L));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ForEachTask extends RecursiveAction {
+        private final Spliterator.OfInt keys;
+        private final IntConsumer action;
+        private final long threshold;
+
+        ForEachTask(Spliterator.OfInt keys, IntConsumer action, long threshold) {
+            this.keys = keys;
+            this.action = action;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForEachTask> forked = new ArrayList<>();
+            Spliterator.OfInt split;
+            while (keys.estimateSize() > threshold && (split = keys.trySplit()) != null) {
+                ForEachTask task = new ForEachTask(split, action, threshold);
+                task.fork();
+                forked.add(task);
+            }
+            keys.forEachRemaining(action);
+            for (ForEachTask task : forked) task.join();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class CollectTask extends RecursiveTask<IntList> {
+        private final Spliterator.OfInt keys;
+        private final IntPredicate filter;
+        private final long threshold;
+
+        CollectTask(Spliterator.OfInt keys, IntPredicate filter, long threshold) {
+            this.keys = keys;
+            this.filter = filter;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected IntList compute() {
+            List<CollectTask> forked = new ArrayList<>();
+            Spliterator.OfInt split;
+            while (keys.estimateSize() > threshold && (split = keys.trySplit()) != null) {
+                CollectTask task = new CollectTask(split, filter, threshold);
+                task.fork();
+                forked.add(task);
+            }
+            IntList out = new IntList();
+            keys.forEachRemaining((int key) -> {
+                if (filter.test(key)) out.add(key);
+            });
+            for (CollectTask task : forked) out.addAll(task.join());
+            return out;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.concurrent.datastructures;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Snapshot file of a set's keys: a 16-byte header (int magic, int version, long count)
+ * followed by the keys in ascending order as big-endian ints. Both directions go through a
+ * memory-mapped {@link FileChannel} and bulk int-buffer copies.
+ */
+final class SetSnapshot {
+
+    static final int MAGIC = 0x43445353; // "CDSS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private SetSnapshot() {}
+
+    static void write(ConcurrentSet set, Path file) throws IOException {
+        int[][] buf = {new int[1024]};
+        int[] n = {0};
+        set.forEachKey(key -> {
+            if (n[0] == buf[0].length) buf[0] = Arrays.copyOf(buf[0], n[0] * 2);
+            buf[0][n[0]++] = key;
+        });
+        int[] keys = buf[0];
+        int count = n[0];
+        Arrays.sort(keys, 0, count);
+
+        long size = HEADER_BYTES + 4L * count;
+        if (size > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            map.putInt(MAGIC).putInt(VERSION).putLong(count);
+            map.asIntBuffer().put(keys, 0, count);
+            map.force();
+        }
+    }
+
+    /** Keys of a snapshot, in ascending order. */
+    static int[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) throw new IOException("Bad snapshot size: " + file);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt() != MAGIC || map.getInt() != VERSION) throw new IOException("Not a set snapshot: " + file);
+            long count = map.getLong();
+            if (HEADER_BYTES + 4 * count != size) throw new IOException("Truncated snapshot: " + file);
+            int[] keys = new int[(int) count];
+            map.asIntBuffer().get(keys);
+            return keys;
+        }
+    }
+}
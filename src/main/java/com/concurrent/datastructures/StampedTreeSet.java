@@ -0,0 +1,56 @@
+package com.concurrent.datastructures;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+
+/**
+ * {@code TreeSet<Integer>} guarded by a {@link StampedLock}: shared read locks for
+ * {@code contains}, the exclusive write lock for updates. No optimistic reads, since an
+ * unlocked {@code TreeMap} walk racing a rotation is not guaranteed to terminate cleanly.
+ */
+public class StampedTreeSet implements ConcurrentSet {
+
+    private final TreeSet<Integer> set = new TreeSet<>();
+    private final StampedLock lock = new StampedLock();
+
+    @Override
+    public boolean insert(int key) {
+        long stamp = lock.writeLock();
+        try {
+            return set.add(BoxCache.box(key));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(int key) {
+        long stamp = lock.writeLock();
+        try {
+            return set.remove(BoxCache.box(key));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        long stamp = lock.readLock();
+        try {
+            return set.contains(BoxCache.box(key));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        long stamp = lock.readLock();
+        try {
+            for (Integer key : set) action.accept(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.concurrent.datastructures;
 
-import java.util.concurrent.locks.ReentrantLock;
+import com.concurrent.locks.LockFactory;
+import com.concurrent.locks.LockKind;
+
+import java.util.Spliterator;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntConsumer;
 
 public class StripedHashSet implements ConcurrentSet {
 
     private final Node[] buckets;
-    private final ReentrantLock[] locks;
+    private final Lock[] locks;
 
     private static class Node {
         int key;
@@ -18,10 +23,14 @@ public class StripedHashSet implements ConcurrentSet {
     }
 
     public StripedHashSet(int stripes) {
+        this(stripes, LockKind.REENTRANT);
+    }
+
+    public StripedHashSet(int stripes, LockFactory lockFactory) {
         buckets = new Node[stripes];
-        locks = new ReentrantLock[stripes];
+        locks = new Lock[stripes];
         for (int i = 0; i < stripes; i++)
-            locks[i] = new ReentrantLock();
+            locks[i] = lockFactory.newLock("Striped.stripe", i);
     }
 
     private int hash(int key) {
@@ -81,4 +90,59 @@ public class StripedHashSet implements ConcurrentSet {
             locks[h].unlock();
         }
     }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        BulkLoad.checkSorted(sortedKeys);
+        for (Node bucket : buckets) BulkLoad.checkEmpty(bucket == null);
+        // The stripe count is fixed, so chains are built directly without taking locks
+        for (int key : sortedKeys) {
+            int h = hash(key);
+            buckets[h] = new Node(key, buckets[h]);
+        }
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        for (int h = 0; h < buckets.length; h++) {
+            locks[h].lock();
+            try {
+                for (Node curr = buckets[h]; curr != null; curr = curr.next) action.accept(curr.key);
+            } finally {
+                locks[h].unlock();
+            }
+        }
+    }
+
+    /**
+     * Splits by bucket ranges; each bucket is copied under its stripe lock. The set keeps no
+     * size, so the estimate is unknown.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new BucketSpliterator((h, out) -> {
+            locks[h].lock();
+            try {
+                for (Node curr = buckets[h]; curr != null; curr = curr.next) out.add(curr.key);
+            } finally {
+                locks[h].unlock();
+            }
+        }, buckets.length, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int maxDepth() {
+        int max = 0;
+        for (int h = 0; h < buckets.length; h++) {
+            locks[h].lock();
+            try {
+                int len = 0;
+                for (Node curr = buckets[h]; curr != null; curr = curr.next) len++;
+                if (len > max) max = len;
+            } finally {
+                locks[h].unlock();
+            }
+        }
+        return max;
+    }
 }
@@ -0,0 +1,108 @@
+package com.concurrent.datastructures;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Weakly consistent {@link Spliterator.OfInt} for the trees whose reads are lock-free. It
+ * holds a stack of subtree roots and splits by handing one subtree away; splitting the last
+ * subtree keeps its root key and right child and gives away the left child. Child pointers
+ * are read as the traversal reaches them, so keys moved by a concurrent remove or rotation
+ * may be reported twice or not at all.
+ */
+final class SubtreeSpliterator<N> implements Spliterator.OfInt {
+
+    /** Read access to a tree's nodes. */
+    interface Shape<N> {
+        N left(N node);
+
+        N right(N node);
+
+        int key(N node);
+
+        /** False for nodes that only route searches, e.g. logically deleted ones. */
+        boolean live(N node);
+    }
+
+    private final Shape<N> shape;
+    private final ArrayDeque<N> pending = new ArrayDeque<>();
+    // Keys of roots whose subtrees were split away, reported before the pending subtrees
+    private final IntList held = new IntList(8);
+    private int heldPos;
+    private long estimate;
+
+    SubtreeSpliterator(Shape<N> shape, N top, long estimate) {
+        this.shape = shape;
+        this.estimate = estimate;
+        if (top != null) pending.push(top);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (heldPos < held.size()) {
+            action.accept(held.get(heldPos++));
+            return true;
+        }
+        N n;
+        while ((n = pending.poll()) != null) {
+            push(n);
+            if (shape.live(n)) {
+                action.accept(shape.key(n));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (heldPos < held.size()) action.accept(held.get(heldPos++));
+        N n;
+        while ((n = pending.poll()) != null) {
+            push(n);
+            if (shape.live(n)) action.accept(shape.key(n));
+        }
+    }
+
+    private void push(N n) {
+        N right = shape.right(n);
+        N left = shape.left(n);
+        if (right != null) pending.push(right);
+        if (left != null) pending.push(left);
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        N given;
+        if (pending.size() >= 2) {
+            // The bottom of the stack is the subtree nearest the top of the tree
+            given = pending.pollLast();
+        } else {
+            N n = pending.peek();
+            if (n == null) return null;
+            N left = shape.left(n);
+            N right = shape.right(n);
+            if (left == null && right == null) return null;
+            pending.pop();
+            if (shape.live(n)) held.add(shape.key(n));
+            if (left == null) {
+                given = right;
+            } else {
+                if (right != null) pending.push(right);
+                given = left;
+            }
+        }
+        return new SubtreeSpliterator<>(shape, given, estimate >>>= 1);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | CONCURRENT;
+    }
+}
@@ -0,0 +1,28 @@
+package com.concurrent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans one phase (prefill, warmup, measure) of a benchmark run.
+ */
+@Name("com.concurrent.BenchmarkPhase")
+@Label("Benchmark Phase")
+@Category("Concurrent DS Benchmark")
+public class BenchmarkPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Structure")
+    public String structure;
+
+    @Label("Workload")
+    public String workload;
+
+    @Label("Threads")
+    @Description("Number of benchmark clients")
+    public int threads;
+}
@@ -0,0 +1,61 @@
+package com.concurrent.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * A flight recording covering one benchmark cell, dumped to its own {@code .jfr} file.
+ *
+ * <p>Starts from the JDK "default" settings, enables this project's events and lowers the
+ * park/monitor thresholds so that short lock waits are captured.
+ */
+public final class CellRecording {
+
+    // Lock waits shorter than this are not recorded
+    private static final Duration LOCK_WAIT_THRESHOLD = Duration.ofNanos(50_000);
+
+    private final Recording recording;
+    private final Path file;
+
+    private CellRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    public static CellRecording start(Path file, Duration slowOpThreshold) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Cannot load JFR default configuration", e);
+        }
+        recording.setName(file.getFileName().toString());
+        recording.enable(BenchmarkPhaseEvent.class);
+        recording.enable(ResizeEvent.class);
+        recording.enable(SlowOperationEvent.class).withThreshold(slowOpThreshold);
+        recording.enable("jdk.ThreadPark").withThreshold(LOCK_WAIT_THRESHOLD).withStackTrace();
+        recording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_WAIT_THRESHOLD).withStackTrace();
+        recording.enable("jdk.GarbageCollection");
+        recording.start();
+        return new CellRecording(recording, file);
+    }
+
+    /** Stops the recording, writes it to its file and returns the summary of that file. */
+    public JfrSummary stopAndDump() throws IOException {
+        try {
+            recording.stop();
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            recording.dump(file);
+        } finally {
+            recording.close();
+        }
+        return JfrSummarizer.summarize(file);
+    }
+}
@@ -0,0 +1,125 @@
+package com.concurrent.jfr;
+
+import com.concurrent.util.CSVWriterUtil;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Extracts lock contention, GC and resize totals from {@code .jfr} files.
+ *
+ * <p>GC totals only count collections that start inside a measure-phase
+ * {@link BenchmarkPhaseEvent} (all of them if the recording has none), and never those
+ * caused by {@code System.gc()}, which the runner forces between phases for its heap probes.
+ *
+ * <p>Usage: {@code JfrSummarizer <dir-with-jfr-files> <output.csv>} writes one row per file.
+ */
+public final class JfrSummarizer {
+
+    private static final String MEASURE_PHASE = "measure";
+    private static final String FORCED_GC_CAUSE = "System.gc()";
+
+    private JfrSummarizer() {}
+
+    public static JfrSummary summarize(Path file) throws IOException {
+        List<Instant[]> measured = measureWindows(file);
+        JfrSummary s = new JfrSummary();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent e = recording.readEvent();
+                double millis = e.getDuration().toNanos() / 1_000_000.0;
+                switch (e.getEventType().getName()) {
+                    case "jdk.ThreadPark": {
+                        RecordedClass parked = e.getClass("parkedClass");
+                        if (parked != null && isLock(parked.getName())) {
+                            s.lockParks++;
+                            s.lockParkMillis += millis;
+                        }
+                        break;
+                    }
+                    case "jdk.JavaMonitorEnter":
+                        s.monitorEnters++;
+                        s.monitorEnterMillis += millis;
+                        break;
+                    case "jdk.GarbageCollection": {
+                        if (FORCED_GC_CAUSE.equals(e.getString("cause"))) break;
+                        if (!measured.isEmpty() && !inside(e.getStartTime(), measured)) break;
+                        double pause = e.getDuration("sumOfPauses").toNanos() / 1_000_000.0;
+                        s.gcCount++;
+                        s.gcPauseMillis += pause;
+                        s.maxGcPauseMillis = Math.max(s.maxGcPauseMillis,
+                                e.getDuration("longestPause").toNanos() / 1_000_000.0);
+                        break;
+                    }
+                    case "com.concurrent.Resize":
+                        s.resizes++;
+                        s.resizeMillis += millis;
+                        break;
+                    case "com.concurrent.SlowOperation":
+                        s.slowOps++;
+                        s.maxSlowOpMillis = Math.max(s.maxSlowOpMillis, millis);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return s;
+    }
+
+    // Events are not stored in time order, so the phase windows are read in a pass of their own
+    private static List<Instant[]> measureWindows(Path file) throws IOException {
+        List<Instant[]> windows = new ArrayList<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent e = recording.readEvent();
+                if (e.getEventType().getName().equals("com.concurrent.BenchmarkPhase")
+                        && MEASURE_PHASE.equals(e.getString("phase"))) {
+                    windows.add(new Instant[] {e.getStartTime(), e.getEndTime()});
+                }
+            }
+        }
+        return windows;
+    }
+
+    // JDK synchronizers, and the --locks strategies, which park on the lock or a queue node
+    private static boolean isLock(String parkedClass) {
+        return parkedClass.startsWith("java.util.concurrent.locks.") || parkedClass.startsWith("com.concurrent.locks.");
+    }
+
+    private static boolean inside(Instant time, List<Instant[]> windows) {
+        for (Instant[] w : windows) {
+            if (!time.isBefore(w[0]) && !time.isAfter(w[1])) return true;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JfrSummarizer <dir-with-jfr-files> <output.csv>");
+            System.exit(1);
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(Paths.get(args[0]))) {
+            files = stream.filter(p -> p.toString().endsWith(".jfr")).sorted().collect(Collectors.toList());
+        }
+        CSVWriterUtil csv = new CSVWriterUtil(args[1]);
+        csv.writeHeader("Recording," + JfrSummary.CSV_HEADER);
+        for (Path f : files) {
+            JfrSummary s = summarize(f);
+            System.out.println(f.getFileName() + ": " + s);
+            csv.writeRow(f.getFileName().toString().replace(".jfr", ""), s.toCsv());
+        }
+        csv.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.concurrent.jfr;
+
+/**
+ * Lock contention, GC and resize totals extracted from one flight recording.
+ */
+public class JfrSummary {
+
+    public static final String CSV_HEADER =
+            "JfrLockParks,JfrLockParkMs,JfrMonitorEnters,JfrMonitorEnterMs,"
+            + "JfrGcCount,JfrGcPauseMs,JfrMaxGcPauseMs,JfrResizes,JfrResizeMs,JfrSlowOps,JfrMaxSlowOpMs";
+
+    long lockParks;
+    double lockParkMillis;
+    long monitorEnters;
+    double monitorEnterMillis;
+    long gcCount;
+    double gcPauseMillis;
+    double maxGcPauseMillis;
+    long resizes;
+    double resizeMillis;
+    long slowOps;
+    double maxSlowOpMillis;
+
+    // Parks above the threshold on java.util.concurrent.locks synchronizers (ReentrantLock etc.)
+    // and on the com.concurrent.locks strategies (TTAS, MCS, CLH, cohort)
+    public long getLockParks() { return lockParks; }
+    public double getLockParkMillis() { return lockParkMillis; }
+    // Contended synchronized blocks above the threshold
+    public long getMonitorEnters() { return monitorEnters; }
+    public double getMonitorEnterMillis() { return monitorEnterMillis; }
+    public long getGcCount() { return gcCount; }
+    public double getGcPauseMillis() { return gcPauseMillis; }
+    public double getMaxGcPauseMillis() { return maxGcPauseMillis; }
+    public long getResizes() { return resizes; }
+    public double getResizeMillis() { return resizeMillis; }
+    public long getSlowOps() { return slowOps; }
+    public double getMaxSlowOpMillis() { return maxSlowOpMillis; }
+
+    public String toCsv() {
+        return String.format("%d,%.3f,%d,%.3f,%d,%.3f,%.3f,%d,%.3f,%d,%.3f",
+                lockParks, lockParkMillis, monitorEnters, monitorEnterMillis,
+                gcCount, gcPauseMillis, maxGcPauseMillis, resizes, resizeMillis,
+                slowOps, maxSlowOpMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "lockParks=%d (%.1f ms), monitorEnters=%d (%.1f ms), GCs=%d (%.1f ms, max %.1f ms), "
+                + "resizes=%d (%.1f ms), slowOps=%d (max %.2f ms)",
+                lockParks, lockParkMillis, monitorEnters, monitorEnterMillis, gcCount,
+                gcPauseMillis, maxGcPauseMillis, resizes, resizeMillis, slowOps, maxSlowOpMillis);
+    }
+}
@@ -0,0 +1,23 @@
+package com.concurrent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans a hash table resize, from taking the resize lock to publishing the new table.
+ */
+@Name("com.concurrent.Resize")
+@Label("Hash Set Resize")
+@Category("Concurrent DS Benchmark")
+public class ResizeEvent extends jdk.jfr.Event {
+
+    @Label("Structure")
+    public String structure;
+
+    @Label("Old Capacity")
+    public int oldCapacity;
+
+    @Label("New Capacity")
+    public int newCapacity;
+}
@@ -0,0 +1,23 @@
+package com.concurrent.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A sampled set operation. Recordings set this event's threshold so only operations
+ * slower than it are written.
+ */
+@Name("com.concurrent.SlowOperation")
+@Label("Slow Set Operation")
+@Description("Sampled contains/insert/remove that exceeded the configured threshold")
+@Category("Concurrent DS Benchmark")
+public class SlowOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    public int key;
+}
@@ -0,0 +1,32 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waiting policy shared by the spin locks: busy-spin first, then yield, then sleep in short
+ * timed parks. Bounded spinning keeps handoffs fast for short critical sections without
+ * burning a core when the holder has been descheduled.
+ */
+final class Backoff {
+
+    static final int SPIN_LIMIT = 1 << 7;
+    static final int YIELD_LIMIT = SPIN_LIMIT + 16;
+    static final long PARK_NANOS = 20_000;
+
+    private Backoff() {}
+
+    /**
+     * One waiting step; {@code round} counts the failed checks so far. Returns the next round.
+     * Parks name {@code blocker}, so Flight Recorder attributes them to the lock.
+     */
+    static int pause(Object blocker, int round) {
+        if (round < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (round < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(blocker, PARK_NANOS);
+        }
+        return round == Integer.MAX_VALUE ? round : round + 1;
+    }
+}
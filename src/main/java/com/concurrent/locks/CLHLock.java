@@ -0,0 +1,51 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Craig, Landin and Hagersten queue lock. The queue is implicit: each waiter swaps its node
+ * into {@link #tail} and spins on (then parks on) its predecessor's node. On acquisition the
+ * predecessor's node is no longer referenced by anyone and goes to the acquirer's pool; the
+ * acquirer's own node stays with the lock until its successor takes it in turn.
+ */
+final class CLHLock extends SpinLock {
+
+    private final AtomicReference<QNode> tail = new AtomicReference<>(new QNode());
+
+    // Written only by the holder, after acquiring
+    private QNode owner;
+
+    @Override
+    public void lock() {
+        QNode node = QNode.take();
+        node.locked = true;
+        QNode pred = tail.getAndSet(node);
+        QNode.await(pred);
+        QNode.recycle(pred);
+        owner = node;
+    }
+
+    @Override
+    public boolean tryLock() {
+        QNode pred = tail.get();
+        if (pred.locked) return false;
+        QNode node = QNode.take();
+        node.locked = true;
+        if (!tail.compareAndSet(pred, node)) {
+            QNode.recycle(node);
+            return false;
+        }
+        // Normally returns at once; waits only if pred was recycled and requeued in between
+        QNode.await(pred);
+        QNode.recycle(pred);
+        owner = node;
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        QNode node = owner;
+        owner = null;
+        QNode.release(node);
+    }
+}
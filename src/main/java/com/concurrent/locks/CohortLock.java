@@ -0,0 +1,101 @@
+package com.concurrent.locks;
+
+import com.concurrent.affinity.CpuTopology;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock cohorting (Dice, Marathe and Shavit): each cluster of threads has a local ticket lock,
+ * and the holder of a local lock also needs the global {@link TTASLock}. On release, if
+ * another thread of the same cluster is queued, the local lock is handed to it together with
+ * the global lock, up to {@link #MAX_PASSES} times in a row; otherwise the global lock is
+ * released for the other clusters. Consecutive holders then mostly share a cluster, and the
+ * lock's data stays in that cluster's caches.
+ *
+ * <p>Java cannot ask which socket a thread runs on, so a thread's cluster is its id modulo
+ * the cluster count. That matches sockets only as far as the scheduler or pinning keeps
+ * threads in place.
+ */
+final class CohortLock extends SpinLock {
+
+    /** One cluster per socket, and at least two so the cohort handoff is exercised. */
+    static final int DEFAULT_CLUSTERS = Math.max(2, detectSockets());
+
+    private static final int MAX_PASSES = 64;
+
+    private static final class Cohort {
+        final AtomicInteger nextTicket = new AtomicInteger();
+        volatile int serving;
+        // Both only touched by the local holder; published through serving
+        boolean globalHeld;
+        int passes;
+    }
+
+    private final TTASLock global = new TTASLock();
+    private final Cohort[] cohorts;
+
+    // Written only by the holder, after acquiring
+    private Cohort owner;
+
+    CohortLock(int clusters) {
+        cohorts = new Cohort[clusters];
+        for (int i = 0; i < clusters; i++) cohorts[i] = new Cohort();
+    }
+
+    @Override
+    public void lock() {
+        Cohort c = cohort();
+        int ticket = c.nextTicket.getAndIncrement();
+        for (int round = 0; c.serving != ticket; ) round = Backoff.pause(this, round);
+        if (!c.globalHeld) {
+            global.lock();
+            c.globalHeld = true;
+            c.passes = 0;
+        }
+        owner = c;
+    }
+
+    @Override
+    public boolean tryLock() {
+        Cohort c = cohort();
+        int ticket = c.serving;
+        if (!c.nextTicket.compareAndSet(ticket, ticket + 1)) return false;
+        if (!c.globalHeld) {
+            if (!global.tryLock()) {
+                c.serving = ticket + 1;
+                return false;
+            }
+            c.globalHeld = true;
+            c.passes = 0;
+        }
+        owner = c;
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        Cohort c = owner;
+        owner = null;
+        int next = c.serving + 1;
+        boolean localWaiter = c.nextTicket.get() != next;
+        if (localWaiter && c.passes < MAX_PASSES) {
+            c.passes++;
+        } else {
+            c.globalHeld = false;
+            global.unlock();
+        }
+        c.serving = next;
+    }
+
+    private Cohort cohort() {
+        return cohorts[(int) (Thread.currentThread().threadId() % cohorts.length)];
+    }
+
+    private static int detectSockets() {
+        try {
+            return CpuTopology.detect().socketCount();
+        } catch (Exception e) {
+            return 1;
+        }
+    }
+}
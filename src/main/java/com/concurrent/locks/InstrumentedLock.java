@@ -0,0 +1,89 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link Lock} decorator that reports acquisitions, contention, wait and hold times to its
+ * {@link LockGroup}. An acquisition is contended when the initial {@code tryLock} fails.
+ * Works for every {@link LockKind}; reentrant holds of a {@code ReentrantLock} count once.
+ */
+final class InstrumentedLock implements Lock {
+
+    private final Lock delegate;
+    private final LockGroup group;
+    private final LockGroup.Stripe stripe;
+
+    // Only written and read by the owning thread
+    private int holdDepth;
+    private long acquiredAt;
+
+    InstrumentedLock(Lock delegate, LockGroup group, int index) {
+        this.delegate = delegate;
+        this.group = group;
+        this.stripe = group.stripe(index);
+    }
+
+    @Override
+    public void lock() {
+        if (delegate.tryLock()) {
+            group.recordUncontended(stripe);
+        } else {
+            long start = System.nanoTime();
+            delegate.lock();
+            group.recordContended(stripe, System.nanoTime() - start);
+        }
+        onAcquired();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (delegate.tryLock()) {
+            group.recordUncontended(stripe);
+        } else {
+            long start = System.nanoTime();
+            delegate.lockInterruptibly();
+            group.recordContended(stripe, System.nanoTime() - start);
+        }
+        onAcquired();
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!delegate.tryLock()) return false;
+        group.recordUncontended(stripe);
+        onAcquired();
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+        if (delegate.tryLock()) {
+            group.recordUncontended(stripe);
+        } else {
+            long start = System.nanoTime();
+            if (!delegate.tryLock(timeout, unit)) return false;
+            group.recordContended(stripe, System.nanoTime() - start);
+        }
+        onAcquired();
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (--holdDepth == 0) {
+            group.recordHold(System.nanoTime() - acquiredAt);
+        }
+        delegate.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return delegate.newCondition();
+    }
+
+    private void onAcquired() {
+        if (holdDepth++ == 0) acquiredAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,83 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ReentrantReadWriteLock} whose read and write views report to separate groups.
+ * Hold times are recorded for the write side only; read holds are shared and untracked.
+ * Never serialized, so the views' {@link LockGroup} fields need not be serializable.
+ */
+@SuppressWarnings("serial")
+final class InstrumentedReadWriteLock extends ReentrantReadWriteLock {
+
+    private final ReadView readView;
+    private final WriteView writeView;
+
+    InstrumentedReadWriteLock(LockGroup readGroup, LockGroup writeGroup) {
+        this.readView = new ReadView(this, readGroup);
+        this.writeView = new WriteView(this, writeGroup);
+    }
+
+    @Override
+    public ReentrantReadWriteLock.ReadLock readLock() {
+        return readView;
+    }
+
+    @Override
+    public ReentrantReadWriteLock.WriteLock writeLock() {
+        return writeView;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ReadView extends ReentrantReadWriteLock.ReadLock {
+        private final ReentrantReadWriteLock lock;
+        private final LockGroup group;
+
+        ReadView(ReentrantReadWriteLock lock, LockGroup group) {
+            super(lock);
+            this.lock = lock;
+            this.group = group;
+        }
+
+        @Override
+        public void lock() {
+            // tryLock() would barge past a queued writer, which lock() waits behind
+            if (!lock.hasQueuedThreads() && super.tryLock()) {
+                group.recordUncontended(null);
+            } else {
+                long start = System.nanoTime();
+                super.lock();
+                group.recordContended(null, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class WriteView extends ReentrantReadWriteLock.WriteLock {
+        private final LockGroup group;
+        private long acquiredAt;
+
+        WriteView(ReentrantReadWriteLock lock, LockGroup group) {
+            super(lock);
+            this.group = group;
+        }
+
+        @Override
+        public void lock() {
+            if (super.tryLock()) {
+                group.recordUncontended(null);
+            } else {
+                long start = System.nanoTime();
+                super.lock();
+                group.recordContended(null, System.nanoTime() - start);
+            }
+            if (getHoldCount() == 1) acquiredAt = System.nanoTime();
+        }
+
+        @Override
+        public void unlock() {
+            if (getHoldCount() == 1) group.recordHold(System.nanoTime() - acquiredAt);
+            super.unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Creates the mutual-exclusion locks of a data structure. Group and index have the same
+ * meaning as in {@link LockStats#newLock}: they name the counters an instrumented lock
+ * reports to when {@code -Dds.lockStats=true}.
+ */
+@FunctionalInterface
+public interface LockFactory {
+
+    Lock newLock(String group, int index);
+}
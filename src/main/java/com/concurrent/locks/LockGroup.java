@@ -0,0 +1,90 @@
+package com.concurrent.locks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped counters shared by all instrumented locks with the same group name.
+ */
+final class LockGroup {
+
+    // Wait-time histogram bucket i counts waits in [2^i, 2^(i+1)) ns
+    static final int HISTOGRAM_BUCKETS = 40;
+
+    /** Per-index counters, shared by every lock created with that index (e.g. after a resize). */
+    static final class Stripe {
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder contended = new LongAdder();
+    }
+
+    private final String name;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder holds = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAdder[] waitHistogram = new LongAdder[HISTOGRAM_BUCKETS];
+    private final Map<Integer, Stripe> stripes = new ConcurrentHashMap<>();
+
+    LockGroup(String name) {
+        this.name = name;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) waitHistogram[i] = new LongAdder();
+    }
+
+    Stripe stripe(int index) {
+        return index < 0 ? null : stripes.computeIfAbsent(index, i -> new Stripe());
+    }
+
+    void recordUncontended(Stripe stripe) {
+        acquisitions.increment();
+        if (stripe != null) stripe.acquisitions.increment();
+    }
+
+    void recordContended(Stripe stripe, long waited) {
+        acquisitions.increment();
+        contended.increment();
+        waitNanos.add(waited);
+        waitHistogram[bucket(waited)].increment();
+        if (stripe != null) {
+            stripe.acquisitions.increment();
+            stripe.contended.increment();
+        }
+    }
+
+    void recordHold(long held) {
+        holds.increment();
+        holdNanos.add(held);
+    }
+
+    void reset() {
+        acquisitions.reset();
+        contended.reset();
+        waitNanos.reset();
+        holds.reset();
+        holdNanos.reset();
+        for (LongAdder a : waitHistogram) a.reset();
+        for (Stripe s : stripes.values()) {
+            s.acquisitions.reset();
+            s.contended.reset();
+        }
+    }
+
+    LockGroupStats snapshot() {
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) histogram[i] = waitHistogram[i].sum();
+        Map<Integer, long[]> perStripe = new HashMap<>();
+        for (Map.Entry<Integer, Stripe> e : stripes.entrySet()) {
+            long acq = e.getValue().acquisitions.sum();
+            if (acq > 0) perStripe.put(e.getKey(), new long[]{acq, e.getValue().contended.sum()});
+        }
+        return new LockGroupStats(name, acquisitions.sum(), contended.sum(), waitNanos.sum(),
+                holds.sum(), holdNanos.sum(), histogram, perStripe);
+    }
+
+    private static int bucket(long nanos) {
+        int b = 63 - Long.numberOfLeadingZeros(Math.max(1, nanos));
+        return Math.min(b, HISTOGRAM_BUCKETS - 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.concurrent.locks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one lock group's counters.
+ */
+public final class LockGroupStats {
+
+    private final String name;
+    private final long acquisitions;
+    private final long contended;
+    private final long waitNanos;
+    private final long holds;
+    private final long holdNanos;
+    private final long[] waitHistogram;
+    // stripe index -> {acquisitions, contended}
+    private final Map<Integer, long[]> stripes;
+
+    LockGroupStats(String name, long acquisitions, long contended, long waitNanos,
+                   long holds, long holdNanos, long[] waitHistogram, Map<Integer, long[]> stripes) {
+        this.name = name;
+        this.acquisitions = acquisitions;
+        this.contended = contended;
+        this.waitNanos = waitNanos;
+        this.holds = holds;
+        this.holdNanos = holdNanos;
+        this.waitHistogram = waitHistogram;
+        this.stripes = stripes;
+    }
+
+    public String getName() { return name; }
+    public long getAcquisitions() { return acquisitions; }
+    public long getContended() { return contended; }
+    public long getTotalWaitNanos() { return waitNanos; }
+    public long getTotalHoldNanos() { return holdNanos; }
+    public long[] getWaitHistogram() { return waitHistogram.clone(); }
+    public int getStripeCount() { return stripes.size(); }
+
+    public double getContendedFraction() {
+        return acquisitions == 0 ? 0 : (double) contended / acquisitions;
+    }
+
+    // Mean wait of contended acquisitions
+    public double getAvgWaitNanos() {
+        return contended == 0 ? 0 : (double) waitNanos / contended;
+    }
+
+    public double getAvgHoldNanos() {
+        return holds == 0 ? 0 : (double) holdNanos / holds;
+    }
+
+    /** Upper bound of the histogram bucket holding the given quantile of contended waits. */
+    public long waitPercentileNanos(double quantile) {
+        if (contended == 0) return 0;
+        long target = (long) Math.ceil(quantile * contended);
+        long seen = 0;
+        for (int i = 0; i < waitHistogram.length; i++) {
+            seen += waitHistogram[i];
+            if (seen >= target) return 1L << (i + 1);
+        }
+        return 1L << waitHistogram.length;
+    }
+
+    /** Indices of the n most acquired stripes, most acquired first. */
+    public List<Integer> hottestStripes(int n) {
+        List<Integer> indices = new ArrayList<>(stripes.keySet());
+        indices.sort((a, b) -> Long.compare(stripes.get(b)[0], stripes.get(a)[0]));
+        return indices.subList(0, Math.min(n, indices.size()));
+    }
+
+    public long stripeAcquisitions(int index) {
+        long[] s = stripes.get(index);
+        return s == null ? 0 : s[0];
+    }
+
+    public long stripeContended(int index) {
+        long[] s = stripes.get(index);
+        return s == null ? 0 : s[1];
+    }
+
+    /** Sum of two snapshots of the same group, e.g. across repeated runs. */
+    public LockGroupStats merge(LockGroupStats other) {
+        long[] histogram = waitHistogram.clone();
+        for (int i = 0; i < histogram.length; i++) histogram[i] += other.waitHistogram[i];
+        Map<Integer, long[]> merged = new HashMap<>();
+        for (Map.Entry<Integer, long[]> e : stripes.entrySet()) merged.put(e.getKey(), e.getValue().clone());
+        for (Map.Entry<Integer, long[]> e : other.stripes.entrySet()) {
+            long[] s = merged.computeIfAbsent(e.getKey(), k -> new long[2]);
+            s[0] += e.getValue()[0];
+            s[1] += e.getValue()[1];
+        }
+        return new LockGroupStats(name, acquisitions + other.acquisitions, contended + other.contended,
+                waitNanos + other.waitNanos, holds + other.holds, holdNanos + other.holdNanos,
+                histogram, merged);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "%s: acq=%d contended=%.2f%% avgWait=%.0fns p50Wait<=%dns p99Wait<=%dns avgHold=%.0fns",
+                name, acquisitions, 100 * getContendedFraction(), getAvgWaitNanos(),
+                waitPercentileNanos(0.50), waitPercentileNanos(0.99), getAvgHoldNanos()));
+        List<Integer> hot = hottestStripes(3);
+        if (!hot.isEmpty()) {
+            sb.append(" hottest=");
+            for (int i = 0; i < hot.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(String.format("#%d(%.2f%%)", hot.get(i),
+                        100.0 * stripeAcquisitions(hot.get(i)) / acquisitions));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The lock strategies a structure can be built with. Only {@link #REENTRANT} is reentrant;
+ * the others assume a thread never re-acquires a lock it already holds.
+ */
+public enum LockKind implements LockFactory {
+
+    /** {@link ReentrantLock}: brief spin, then AQS queueing and parking. */
+    REENTRANT {
+        @Override
+        Lock create() { return new ReentrantLock(); }
+    },
+    /** Test-and-test-and-set with randomised exponential backoff, parking once the backoff is long. */
+    TTAS {
+        @Override
+        Lock create() { return new TTASLock(); }
+    },
+    /** MCS queue lock: FIFO, each waiter spins on its own node. */
+    MCS {
+        @Override
+        Lock create() { return new MCSLock(); }
+    },
+    /** CLH queue lock: FIFO, each waiter spins on its predecessor's node. */
+    CLH {
+        @Override
+        Lock create() { return new CLHLock(); }
+    },
+    /** Cohort lock: per-cluster ticket locks in front of a global TTAS lock. */
+    COHORT {
+        @Override
+        Lock create() { return new CohortLock(CohortLock.DEFAULT_CLUSTERS); }
+    };
+
+    abstract Lock create();
+
+    @Override
+    public Lock newLock(String group, int index) {
+        return LockStats.instrument(create(), group, index);
+    }
+
+    public static LockKind parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown lock kind: " + name
+                    + " (expected reentrant, ttas, mcs, clh or cohort)");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.concurrent.locks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Factory for every lock used by the data structures, with opt-in contention profiling.
+ *
+ * <p>Profiling is enabled with {@code -Dds.lockStats=true} and must be decided before this
+ * class is initialised. When disabled the factories return the undecorated locks and the
+ * instrumented classes are never loaded, so the JIT sees the plain lock methods and there
+ * is no overhead.
+ *
+ * <p>Locks are grouped by name (e.g. {@code "Striped.stripe"}). A non-negative index gives
+ * a lock its own acquisition counters inside the group, so hot stripes can be identified;
+ * locks created with index -1 (such as per-node tree locks) only feed the group totals.
+ */
+public final class LockStats {
+
+    public static final boolean ENABLED = Boolean.getBoolean("ds.lockStats");
+
+    private static final Map<String, LockGroup> GROUPS = new ConcurrentHashMap<>();
+
+    private LockStats() {}
+
+    /** A {@link ReentrantLock}; structures with a pluggable strategy take a {@link LockFactory} instead. */
+    public static Lock newLock(String group, int index) {
+        return LockKind.REENTRANT.newLock(group, index);
+    }
+
+    public static ReentrantReadWriteLock newReadWriteLock(String group) {
+        if (!ENABLED) return new ReentrantReadWriteLock();
+        return new InstrumentedReadWriteLock(group(group + ".read"), group(group + ".write"));
+    }
+
+    // Wraps a lock of any kind in the profiling decorator when profiling is on
+    static Lock instrument(Lock lock, String group, int index) {
+        if (!ENABLED) return lock;
+        return new InstrumentedLock(lock, group(group), index);
+    }
+
+    /** Clears all counters, e.g. after prefill and warmup so only measured operations count. */
+    public static void reset() {
+        for (LockGroup g : GROUPS.values()) g.reset();
+    }
+
+    /** Current counters of every group that saw at least one acquisition, sorted by name. */
+    public static List<LockGroupStats> snapshot() {
+        List<LockGroupStats> result = new ArrayList<>();
+        for (LockGroup g : GROUPS.values()) {
+            LockGroupStats s = g.snapshot();
+            if (s.getAcquisitions() > 0) result.add(s);
+        }
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    private static LockGroup group(String name) {
+        return GROUPS.computeIfAbsent(name, LockGroup::new);
+    }
+}
@@ -0,0 +1,57 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mellor-Crummey and Scott queue lock. Waiters form a linked FIFO queue and each one spins
+ * on (then parks on) its own node, so a release touches exactly one waiter's cache line.
+ * The holder's node is kept in {@link #owner} because {@code unlock()} has no parameter.
+ */
+final class MCSLock extends SpinLock {
+
+    private final AtomicReference<QNode> tail = new AtomicReference<>();
+
+    // Written only by the holder, after acquiring
+    private QNode owner;
+
+    @Override
+    public void lock() {
+        QNode node = QNode.take();
+        node.locked = true;
+        QNode pred = tail.getAndSet(node);
+        if (pred != null) {
+            pred.next = node;
+            QNode.await(node);
+        }
+        owner = node;
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (tail.get() != null) return false;
+        QNode node = QNode.take();
+        if (!tail.compareAndSet(null, node)) {
+            QNode.recycle(node);
+            return false;
+        }
+        owner = node;
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        QNode node = owner;
+        owner = null;
+        QNode next = node.next;
+        if (next == null) {
+            if (tail.compareAndSet(node, null)) {
+                QNode.recycle(node);
+                return;
+            }
+            // A successor swapped the tail but has not linked itself yet
+            while ((next = node.next) == null) Thread.onSpinWait();
+        }
+        QNode.release(next);
+        QNode.recycle(node);
+    }
+}
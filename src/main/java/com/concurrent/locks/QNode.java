@@ -0,0 +1,52 @@
+package com.concurrent.locks;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Queue node of the {@link MCSLock} and {@link CLHLock}, plus the per-thread pool they are
+ * taken from. A thread may hold several queue locks at once (hand-over-hand tree locking), so
+ * a single node per thread is not enough; the pool grows to the deepest nesting seen.
+ *
+ * <p>A waiter spins on {@link #locked} for {@link Backoff#SPIN_LIMIT} rounds, then publishes
+ * itself in {@link #waiter} and parks. The releaser clears {@code locked} before reading
+ * {@code waiter}, so one of the two always sees the other's write.
+ */
+final class QNode {
+
+    private static final ThreadLocal<ArrayDeque<QNode>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    volatile boolean locked;
+    volatile QNode next;     // MCS successor
+    volatile Thread waiter;  // thread parked until this node is released
+
+    static QNode take() {
+        QNode node = POOL.get().pollFirst();
+        return node != null ? node : new QNode();
+    }
+
+    static void recycle(QNode node) {
+        node.next = null;
+        node.waiter = null;
+        POOL.get().addFirst(node);
+    }
+
+    /** Waits until {@code node} is released. */
+    static void await(QNode node) {
+        for (int round = 0; round < Backoff.SPIN_LIMIT; round++) {
+            if (!node.locked) return;
+            Thread.onSpinWait();
+        }
+        Thread self = Thread.currentThread();
+        node.waiter = self;
+        while (node.locked) LockSupport.park(node);
+        node.waiter = null;
+    }
+
+    static void release(QNode node) {
+        node.locked = false;
+        Thread waiter = node.waiter;
+        // May be stale once the node is reused; a spurious unpark is harmless
+        if (waiter != null) LockSupport.unpark(waiter);
+    }
+}
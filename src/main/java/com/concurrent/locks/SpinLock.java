@@ -0,0 +1,37 @@
+package com.concurrent.locks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Common base of the non-reentrant lock strategies. Subclasses provide {@code lock},
+ * {@code tryLock} and {@code unlock}. Timed acquisition polls {@code tryLock}, so a timed
+ * waiter does not join the queue of the queue locks. Conditions are not supported.
+ */
+abstract class SpinLock implements Lock {
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        // Queue waiters cannot abandon their node, so interrupts are only checked up front
+        if (Thread.interrupted()) throw new InterruptedException();
+        lock();
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        int round = 0;
+        while (!tryLock()) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            if (System.nanoTime() - deadline >= 0) return false;
+            round = Backoff.pause(this, round);
+        }
+        return true;
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " has no conditions");
+    }
+}
@@ -0,0 +1,61 @@
+package com.concurrent.locks;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test-and-test-and-set lock with randomised exponential backoff. A waiter only attempts the
+ * CAS after reading the lock free, and backs off between attempts: a random spin of up to
+ * {@code delay} pauses, doubling up to {@link #MAX_SPIN_DELAY}, then timed parks that double
+ * up to {@link #MAX_PARK_NANOS}. The lock has no owner, so any thread may release it, which
+ * {@link CohortLock} relies on.
+ */
+final class TTASLock extends SpinLock {
+
+    private static final int MIN_SPIN_DELAY = 4;
+    private static final int MAX_SPIN_DELAY = 1 << 10;
+    private static final long MIN_PARK_NANOS = 10_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(TTASLock.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile int state;
+
+    @Override
+    public void lock() {
+        if (tryLock()) return;
+        int delay = MIN_SPIN_DELAY;
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            if (delay <= MAX_SPIN_DELAY) {
+                int spins = ThreadLocalRandom.current().nextInt(delay) + 1;
+                for (int i = 0; i < spins; i++) Thread.onSpinWait();
+                delay <<= 1;
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(MAX_PARK_NANOS, parkNanos << 1);
+            }
+            if (tryLock()) return;
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        return state == 0 && STATE.compareAndSet(this, 0, 1);
+    }
+
+    @Override
+    public void unlock() {
+        state = 0;
+    }
+}
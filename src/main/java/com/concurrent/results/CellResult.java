@@ -0,0 +1,56 @@
+package com.concurrent.results;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics of one benchmark cell (structure x workload x threads x cell config) in a run.
+ */
+public class CellResult {
+
+    private final String runId;
+    private final String structure;
+    private final String workload;
+    private final int threads;
+    private final Map<String, String> config;
+    private final double[] throughputs;
+    private final Map<String, Double> metrics;
+
+    /**
+     * @param config      cell-level dimensions beyond structure/workload/threads (e.g. mode)
+     * @param throughputs per-run throughput, kept for significance tests
+     * @param metrics     named summary values (ops/sec, bytes/op, ...)
+     */
+    public CellResult(String runId, String structure, String workload, int threads,
+                      Map<String, String> config, double[] throughputs, Map<String, Double> metrics) {
+        this.runId = runId;
+        this.structure = structure;
+        this.workload = workload;
+        this.threads = threads;
+        this.config = Collections.unmodifiableMap(new LinkedHashMap<>(config));
+        this.throughputs = throughputs.clone();
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    public String getRunId() { return runId; }
+    public String getStructure() { return structure; }
+    public String getWorkload() { return workload; }
+    public int getThreads() { return threads; }
+    public Map<String, String> getConfig() { return config; }
+    public double[] getThroughputs() { return throughputs.clone(); }
+    public Map<String, Double> getMetrics() { return metrics; }
+
+    /**
+     * Identifies the cell within its run. Run-level settings such as the element count live
+     * in {@link RunMetadata#getConfig()}, so cells of different runs are only the same cell
+     * when those match too.
+     */
+    public String key() {
+        StringBuilder sb = new StringBuilder(structure).append('/').append(workload).append('/').append(threads);
+        for (Map.Entry<String, String> e : config.entrySet()) {
+            sb.append('/').append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
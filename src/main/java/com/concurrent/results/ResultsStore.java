@@ -0,0 +1,182 @@
+package com.concurrent.results;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary history of benchmark runs.
+ *
+ * Layout: a header (magic, version) followed by length-prefixed records, each a type
+ * byte, a payload length and the payload. A run writes one {@code 'R'} record with its
+ * {@link RunMetadata} and then one {@code 'C'} record per finished cell, so a crashed or
+ * interrupted run still keeps every cell completed before it. A truncated trailing
+ * record is ignored on read.
+ */
+public class ResultsStore {
+
+    public static final int MAGIC = 0x43445352; // "CDSR"
+    public static final short VERSION = 1;
+
+    private static final byte RUN_RECORD = 'R';
+    private static final byte CELL_RECORD = 'C';
+
+    private final Path path;
+
+    public ResultsStore(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void appendRun(RunMetadata run) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(run.getRunId());
+        out.writeLong(run.getTimestampMillis());
+        out.writeUTF(run.getGitCommit());
+        out.writeUTF(run.getJvmVersion());
+        out.writeInt(run.getCpuCount());
+        writeStrings(out, run.getConfig());
+        append(RUN_RECORD, bytes.toByteArray());
+    }
+
+    public void appendCell(CellResult cell) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(cell.getRunId());
+        out.writeUTF(cell.getStructure());
+        out.writeUTF(cell.getWorkload());
+        out.writeInt(cell.getThreads());
+        writeStrings(out, cell.getConfig());
+        double[] throughputs = cell.getThroughputs();
+        out.writeInt(throughputs.length);
+        for (double t : throughputs) out.writeDouble(t);
+        out.writeInt(cell.getMetrics().size());
+        for (Map.Entry<String, Double> e : cell.getMetrics().entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeDouble(e.getValue());
+        }
+        append(CELL_RECORD, bytes.toByteArray());
+    }
+
+    private synchronized void append(byte type, byte[] payload) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        try (OutputStream os = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+            }
+            out.writeByte(type);
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+
+    /** Reads every complete record; an empty history if the file does not exist. */
+    public History read() throws IOException {
+        List<RunMetadata> runs = new ArrayList<>();
+        List<CellResult> cells = new ArrayList<>();
+        if (!Files.exists(path)) return new History(runs, cells);
+
+        try (InputStream is = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a results store: " + path);
+            short version = in.readShort();
+            if (version != VERSION) throw new IOException("Unsupported results store version " + version);
+
+            while (true) {
+                int type = in.read();
+                if (type < 0) break;
+                byte[] payload;
+                try {
+                    payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break; // truncated by an interrupted run
+                }
+                DataInputStream rec = new DataInputStream(new ByteArrayInputStream(payload));
+                if (type == RUN_RECORD) {
+                    runs.add(new RunMetadata(rec.readUTF(), rec.readLong(), rec.readUTF(), rec.readUTF(),
+                            rec.readInt(), readStrings(rec)));
+                } else if (type == CELL_RECORD) {
+                    String runId = rec.readUTF();
+                    String structure = rec.readUTF();
+                    String workload = rec.readUTF();
+                    int threads = rec.readInt();
+                    Map<String, String> config = readStrings(rec);
+                    double[] throughputs = new double[rec.readInt()];
+                    for (int i = 0; i < throughputs.length; i++) throughputs[i] = rec.readDouble();
+                    int n = rec.readInt();
+                    Map<String, Double> metrics = new LinkedHashMap<>();
+                    for (int i = 0; i < n; i++) metrics.put(rec.readUTF(), rec.readDouble());
+                    cells.add(new CellResult(runId, structure, workload, threads, config, throughputs, metrics));
+                }
+                // unknown record types are skipped so newer writers stay readable
+            }
+        }
+        return new History(runs, cells);
+    }
+
+    private static void writeStrings(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeUTF(e.getValue());
+        }
+    }
+
+    private static Map<String, String> readStrings(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) map.put(in.readUTF(), in.readUTF());
+        return map;
+    }
+
+    /**
+     * Contents of a store in append order.
+     */
+    public static class History {
+
+        private final List<RunMetadata> runs;
+        private final List<CellResult> cells;
+
+        History(List<RunMetadata> runs, List<CellResult> cells) {
+            this.runs = Collections.unmodifiableList(runs);
+            this.cells = Collections.unmodifiableList(cells);
+        }
+
+        public List<RunMetadata> getRuns() { return runs; }
+        public List<CellResult> getCells() { return cells; }
+
+        public RunMetadata findRun(String runId) {
+            for (RunMetadata r : runs) if (r.getRunId().equals(runId)) return r;
+            return null;
+        }
+
+        public List<CellResult> cellsOf(String runId) {
+            List<CellResult> result = new ArrayList<>();
+            for (CellResult c : cells) if (c.getRunId().equals(runId)) result.add(c);
+            return result;
+        }
+    }
+}
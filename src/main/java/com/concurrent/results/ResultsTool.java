@@ -0,0 +1,187 @@
+package com.concurrent.results;
+
+import com.concurrent.util.CSVWriterUtil;
+import com.concurrent.util.StatsUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line access to a {@link ResultsStore}.
+ *
+ * <pre>
+ *   ResultsTool list    [store]
+ *   ResultsTool export  [store] out.csv
+ *   ResultsTool compare [store] [baselineRunId [candidateRunId]] [--threshold PCT]
+ * </pre>
+ *
+ * {@code compare} defaults to the two most recent runs. Cells are paired by their
+ * {@link CellResult#key() key} together with the run settings that shape every cell
+ * ({@link #RUN_DIMENSIONS}); runs that differ in those are reported and pair no cells. A
+ * cell regresses when a Welch t-test at 95% confidence finds its mean throughput lower by
+ * more than the threshold (default 2%). Exits with status 1 if any cell regressed.
+ */
+public final class ResultsTool {
+
+    public static final Path DEFAULT_STORE = Paths.get("results", "history.cdsr");
+
+    /** Run-level settings a cell's throughput depends on; cells only pair when these match. */
+    static final List<String> RUN_DIMENSIONS = List.of("elements", "prefillPercent", "prefillMode", "duration");
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 2.0;
+
+    private ResultsTool() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ResultsTool list|export|compare [store] ...");
+            System.exit(2);
+        }
+        List<String> rest = new ArrayList<>();
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threshold")) threshold = Double.parseDouble(args[++i]);
+            else rest.add(args[i]);
+        }
+        Path storePath = DEFAULT_STORE;
+        if (!rest.isEmpty() && rest.get(0).endsWith(".cdsr")) storePath = Paths.get(rest.remove(0));
+        ResultsStore.History history = new ResultsStore(storePath).read();
+
+        switch (args[0]) {
+            case "list":
+                list(history);
+                break;
+            case "export":
+                if (rest.isEmpty()) throw new IllegalArgumentException("export needs an output file");
+                exportCsv(history, rest.get(0));
+                System.out.println("Wrote " + history.getCells().size() + " cells to " + rest.get(0));
+                break;
+            case "compare":
+                List<RunMetadata> runs = history.getRuns();
+                if (runs.size() < 2 && rest.size() < 2) throw new IllegalArgumentException("compare needs two runs");
+                String baseline = rest.size() > 0 ? rest.get(0) : runs.get(runs.size() - 2).getRunId();
+                String candidate = rest.size() > 1 ? rest.get(1) : runs.get(runs.size() - 1).getRunId();
+                int regressions = compare(history, baseline, candidate, threshold);
+                if (regressions > 0) System.exit(1);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+    }
+
+    private static void list(ResultsStore.History history) {
+        for (RunMetadata r : history.getRuns()) {
+            System.out.printf("%s  %s  commit %s  %s  %d cpus  %d cells  %s%n",
+                    r.getRunId(), Instant.ofEpochMilli(r.getTimestampMillis()), r.getGitCommit(),
+                    r.getJvmVersion(), r.getCpuCount(), history.cellsOf(r.getRunId()).size(), r.getConfig());
+        }
+    }
+
+    /** One row per cell, with the union of config and metric names over all cells as columns. */
+    public static void exportCsv(ResultsStore.History history, String file) throws IOException {
+        Set<String> configKeys = new LinkedHashSet<>();
+        Set<String> metricKeys = new LinkedHashSet<>();
+        for (CellResult c : history.getCells()) {
+            configKeys.addAll(c.getConfig().keySet());
+            metricKeys.addAll(c.getMetrics().keySet());
+        }
+
+        List<String> header = new ArrayList<>(List.of("RunId", "Timestamp", "GitCommit", "Jvm", "Cpus",
+                "DataStructure", "Workload", "Threads"));
+        header.addAll(configKeys);
+        header.add("Runs");
+        header.addAll(metricKeys);
+
+        CSVWriterUtil csv = new CSVWriterUtil(file);
+        csv.writeHeader(header.toArray(new String[0]));
+        for (CellResult c : history.getCells()) {
+            RunMetadata r = history.findRun(c.getRunId());
+            List<Object> row = new ArrayList<>();
+            row.add(c.getRunId());
+            row.add(r == null ? "" : Instant.ofEpochMilli(r.getTimestampMillis()));
+            row.add(r == null ? "" : r.getGitCommit());
+            row.add(r == null ? "" : r.getJvmVersion().replace(',', ' '));
+            row.add(r == null ? "" : r.getCpuCount());
+            row.add(c.getStructure());
+            row.add(c.getWorkload());
+            row.add(c.getThreads());
+            for (String k : configKeys) row.add(c.getConfig().getOrDefault(k, ""));
+            row.add(c.getThroughputs().length);
+            for (String k : metricKeys) {
+                Double v = c.getMetrics().get(k);
+                row.add(v == null ? "" : v);
+            }
+            csv.writeRow(row.toArray());
+        }
+        csv.close();
+    }
+
+    /** Prints a per-cell comparison and returns the number of regressed cells. */
+    public static int compare(ResultsStore.History history, String baselineId, String candidateId,
+                              double thresholdPercent) {
+        RunMetadata baseRun = history.findRun(baselineId), candRun = history.findRun(candidateId);
+        Map<String, CellResult> baseline = new LinkedHashMap<>();
+        for (CellResult c : history.cellsOf(baselineId)) baseline.put(pairingKey(c, baseRun), c);
+
+        System.out.printf("Baseline %s vs candidate %s (threshold %.1f%%, 95%% Welch t-test)%n",
+                baselineId, candidateId, thresholdPercent);
+        for (String k : RUN_DIMENSIONS) {
+            String b = runSetting(baseRun, k), c = runSetting(candRun, k);
+            if (!b.equals(c)) {
+                System.out.printf("Warning: runs differ in %s (%s vs %s); their cells are not compared%n", k, b, c);
+            }
+        }
+        System.out.printf("%-56s %14s %14s %9s  %s%n", "Cell", "BaseOps/s", "CandOps/s", "Thr%", "Verdict");
+
+        int regressions = 0, compared = 0;
+        for (CellResult cand : history.cellsOf(candidateId)) {
+            CellResult base = baseline.get(pairingKey(cand, candRun));
+            if (base == null) continue;
+            compared++;
+
+            double[] bt = base.getThroughputs(), ct = cand.getThroughputs();
+            double thrChange = 100 * (StatsUtil.mean(ct) - StatsUtil.mean(bt)) / StatsUtil.mean(bt);
+            boolean significant = significant(bt, ct);
+
+            String verdict;
+            if (thrChange < -thresholdPercent && significant) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (thrChange > thresholdPercent && significant) {
+                verdict = "improved";
+            } else if (bt.length < 2 || ct.length < 2) {
+                verdict = "too few runs";
+            } else {
+                verdict = "no significant change";
+            }
+            System.out.printf("%-56s %14.0f %14.0f %+8.2f%%  %s%n",
+                    cand.key(), StatsUtil.mean(bt), StatsUtil.mean(ct), thrChange, verdict);
+        }
+        System.out.println(compared + " cells compared, " + regressions + " regressed");
+        return regressions;
+    }
+
+    // A cell's key qualified by the run-level settings it was measured under
+    private static String pairingKey(CellResult cell, RunMetadata run) {
+        StringBuilder sb = new StringBuilder(cell.key());
+        for (String k : RUN_DIMENSIONS) sb.append('/').append(k).append('=').append(runSetting(run, k));
+        return sb.toString();
+    }
+
+    private static String runSetting(RunMetadata run, String key) {
+        return run == null ? "" : run.getConfig().getOrDefault(key, "");
+    }
+
+    private static boolean significant(double[] a, double[] b) {
+        double t = StatsUtil.welchT(a, b);
+        return !Double.isNaN(t) && Math.abs(t) > StatsUtil.tCritical95(StatsUtil.welchDegreesOfFreedom(a, b));
+    }
+}
@@ -0,0 +1,68 @@
+package com.concurrent.results;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Environment and configuration of one benchmark invocation.
+ */
+public class RunMetadata {
+
+    private final String runId;
+    private final long timestampMillis;
+    private final String gitCommit;
+    private final String jvmVersion;
+    private final int cpuCount;
+    private final Map<String, String> config;
+
+    public RunMetadata(String runId, long timestampMillis, String gitCommit, String jvmVersion,
+                       int cpuCount, Map<String, String> config) {
+        this.runId = runId;
+        this.timestampMillis = timestampMillis;
+        this.gitCommit = gitCommit;
+        this.jvmVersion = jvmVersion;
+        this.cpuCount = cpuCount;
+        this.config = Collections.unmodifiableMap(new LinkedHashMap<>(config));
+    }
+
+    /** Metadata of the current process: new run id, git HEAD, JVM version and CPU count. */
+    public static RunMetadata capture(Map<String, String> config) {
+        long now = System.currentTimeMillis();
+        String runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss"))
+                + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x1000, 0x10000));
+        String jvm = System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version");
+        return new RunMetadata(runId, now, gitCommit(), jvm,
+                Runtime.getRuntime().availableProcessors(), config);
+    }
+
+    private static String gitCommit() {
+        try {
+            Process p = new ProcessBuilder("git", "rev-parse", "--short=12", "HEAD")
+                    .redirectErrorStream(true).start();
+            String line;
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                line = r.readLine();
+            }
+            return p.waitFor() == 0 && line != null ? line.trim() : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    public String getRunId() { return runId; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public String getGitCommit() { return gitCommit; }
+    public String getJvmVersion() { return jvmVersion; }
+    public int getCpuCount() { return cpuCount; }
+    public Map<String, String> getConfig() { return config; }
+}
@@ -0,0 +1,35 @@
+package com.concurrent.stress;
+
+/**
+ * Operation histories of one stress run, one {@link HistoryBuffer} per client, plus the
+ * initial contents of the set: the prefilled keys [0, prefilled).
+ */
+public final class History {
+
+    private final HistoryBuffer[] buffers;
+    private final int prefilled;
+
+    public History(int clients, int opsPerClient, int prefilled) {
+        this.buffers = new HistoryBuffer[clients];
+        for (int i = 0; i < clients; i++) buffers[i] = new HistoryBuffer(opsPerClient);
+        this.prefilled = prefilled;
+    }
+
+    public HistoryBuffer buffer(int client) {
+        return buffers[client];
+    }
+
+    public int clients() {
+        return buffers.length;
+    }
+
+    public long size() {
+        long n = 0;
+        for (HistoryBuffer b : buffers) n += b.size();
+        return n;
+    }
+
+    boolean initiallyPresent(int key) {
+        return key >= 0 && key < prefilled;
+    }
+}
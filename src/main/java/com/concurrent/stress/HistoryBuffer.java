@@ -0,0 +1,79 @@
+package com.concurrent.stress;
+
+import com.concurrent.trace.TraceFormat;
+
+/**
+ * One client's operation history in preallocated primitive arrays: op code (the
+ * {@link TraceFormat} codes) with the result packed into a byte, key, invocation and response
+ * time. Recording an operation is four array stores with no allocation, boxing or
+ * synchronisation. Only the owning thread writes; others read once it has finished.
+ */
+public final class HistoryBuffer {
+
+    private static final int RESULT_BIT = 0x4;
+
+    private final byte[] ops;
+    private final int[] keys;
+    private final long[] invoked;
+    private final long[] responded;
+    private int size;
+    private long last;
+
+    HistoryBuffer(int capacity) {
+        ops = new byte[capacity];
+        keys = new int[capacity];
+        invoked = new long[capacity];
+        responded = new long[capacity];
+    }
+
+    /** Sets the invocation time of the next operation, e.g. before the first one or after a pause. */
+    public void mark(long nanos) {
+        last = nanos;
+    }
+
+    /**
+     * Records an operation that returned {@code result} at {@code nanos}. Its invocation time
+     * is one nanosecond after the previous response (or mark), so a client reads the clock
+     * once per operation. The interval can only be wider than the real one, which never
+     * turns a linearizable history into a violation, yet it starts strictly after the
+     * client's previous operation returned: the checker would otherwise take two consecutive
+     * operations of one client for concurrent ones and miss violations between them.
+     */
+    public void record(byte op, int key, boolean result, long nanos) {
+        int i = size++;
+        ops[i] = (byte) (result ? op | RESULT_BIT : op);
+        keys[i] = key;
+        invoked[i] = last + 1;
+        // A coarse clock may not have advanced; an interval must not end before it starts
+        responded[i] = Math.max(nanos, last + 1);
+        last = responded[i];
+    }
+
+    public boolean isFull() {
+        return size == ops.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    byte op(int i) {
+        return (byte) (ops[i] & ~RESULT_BIT);
+    }
+
+    boolean result(int i) {
+        return (ops[i] & RESULT_BIT) != 0;
+    }
+
+    int key(int i) {
+        return keys[i];
+    }
+
+    long invoked(int i) {
+        return invoked[i];
+    }
+
+    long responded(int i) {
+        return responded[i];
+    }
+}
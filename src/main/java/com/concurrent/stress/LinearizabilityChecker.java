@@ -0,0 +1,352 @@
+package com.concurrent.stress;
+
+import com.concurrent.trace.TraceFormat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Offline linearizability check of a set {@link History}. Operations on different keys
+ * commute, and linearizability is local, so the history is checked key by key against a
+ * sequential boolean: insert returns true iff the key was absent, remove iff it was present,
+ * contains reports it.
+ *
+ * A key's operations are cut into segments wherever none of them is pending. Each segment
+ * is searched with the Wing &amp; Gong algorithm, memoised on (linearized operations, state)
+ * as in Lowe's refinement, from every state the previous segments can end in. A segment
+ * with no legal order is a violation. A search that exceeds the step limit leaves the key
+ * inconclusive rather than failing it.
+ */
+public final class LinearizabilityChecker {
+
+    public static final long DEFAULT_STEP_LIMIT = 1_000_000;
+
+    // Events sort by time, calls before returns at equal times, so touching intervals overlap
+    private static final int INDEX_BITS = 20;
+    private static final int MAX_KEY_OPS = 1 << INDEX_BITS;
+    private static final long RETURN_BIT = 1L << INDEX_BITS;
+
+    private static final int YES = 0, NO = 1, UNKNOWN = 2;
+    private static final int NIL = -1;
+
+    // Operations listed per reported violation
+    private static final int MAX_LISTED_OPS = 12;
+
+    private final long stepLimit;
+
+    // The history flattened across clients, indexed by global operation id
+    private byte[] ops;
+    private boolean[] results;
+    private int[] clients;
+    private long[] invoked;
+    private long[] responded;
+
+    public LinearizabilityChecker() {
+        this(DEFAULT_STEP_LIMIT);
+    }
+
+    public LinearizabilityChecker(long stepLimit) {
+        this.stepLimit = stepLimit;
+    }
+
+    public Report check(History history) {
+        long[] byKey = flatten(history);
+        Report report = new Report(byKey.length);
+        int from = 0;
+        while (from < byKey.length) {
+            int key = (int) (byKey[from] >> 32);
+            int to = from;
+            while (to < byKey.length && (int) (byKey[to] >> 32) == key) to++;
+            checkKey(key, byKey, from, to, history.initiallyPresent(key), report);
+            from = to;
+        }
+        return report;
+    }
+
+    // Copies the buffers into flat arrays; returns (key << 32 | id) sorted, grouping ids by key
+    private long[] flatten(History history) {
+        int n = (int) history.size();
+        ops = new byte[n];
+        results = new boolean[n];
+        clients = new int[n];
+        invoked = new long[n];
+        responded = new long[n];
+        long[] byKey = new long[n];
+        long origin = Long.MAX_VALUE;
+        int id = 0;
+        for (int c = 0; c < history.clients(); c++) {
+            HistoryBuffer b = history.buffer(c);
+            for (int i = 0; i < b.size(); i++, id++) {
+                ops[id] = b.op(i);
+                results[id] = b.result(i);
+                clients[id] = c;
+                invoked[id] = b.invoked(i);
+                responded[id] = b.responded(i);
+                byKey[id] = ((long) b.key(i) << 32) | id;
+                origin = Math.min(origin, invoked[id]);
+            }
+        }
+        // Relative times keep the event encoding within a long
+        for (int i = 0; i < n; i++) {
+            invoked[i] -= origin;
+            responded[i] -= origin;
+        }
+        Arrays.sort(byKey);
+        return byKey;
+    }
+
+    private void checkKey(int key, long[] byKey, int from, int to, boolean initial, Report report) {
+        report.keys++;
+        int n = to - from;
+        if (n > MAX_KEY_OPS) {
+            report.inconclusiveKeys++;
+            return;
+        }
+        int[] ids = new int[n];
+        long[] events = new long[2 * n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = (int) byKey[from + i];
+            events[2 * i] = (invoked[ids[i]] << (INDEX_BITS + 1)) | i;
+            events[2 * i + 1] = (responded[ids[i]] << (INDEX_BITS + 1)) | RETURN_BIT | i;
+        }
+        Arrays.sort(events);
+
+        // Reachable states after the segments so far: bit 0 absent, bit 1 present
+        int reachable = initial ? 2 : 1;
+        boolean inconclusive = false;
+        int[] local = new int[n];
+        int start = 0, pending = 0;
+        for (int e = 0; e < events.length; e++) {
+            pending += (events[e] & RETURN_BIT) == 0 ? 1 : -1;
+            if (pending > 0) continue;
+
+            Segment segment = new Segment(ids, events, start, e + 1, local);
+            int next = 0;
+            for (int end = 0; end < 2; end++) {
+                for (int s = 0; s < 2 && (next & (1 << end)) == 0; s++) {
+                    if ((reachable & (1 << s)) == 0) continue;
+                    int outcome = segment.search(s == 1, end == 1);
+                    if (outcome == YES || outcome == UNKNOWN) next |= 1 << end;
+                    if (outcome == UNKNOWN) inconclusive = true;
+                }
+            }
+            report.segments++;
+            if (next == 0) {
+                report.violations.add(new Violation(key, describe(segment)));
+                // Resynchronise so later segments of the key are still checked
+                next = 3;
+            }
+            reachable = next;
+            start = e + 1;
+        }
+        if (inconclusive) report.inconclusiveKeys++;
+    }
+
+    private String describe(Segment segment) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < segment.n && i < MAX_LISTED_OPS; i++) {
+            int id = segment.ids[i];
+            if (i > 0) sb.append("; ");
+            sb.append(String.format("client %d %s -> %b [%d..%d ns]", clients[id], TraceFormat.opName(ops[id]),
+                    results[id], invoked[id], responded[id]));
+        }
+        if (segment.n > MAX_LISTED_OPS) sb.append("; ... ").append(segment.n - MAX_LISTED_OPS).append(" more");
+        return sb.toString();
+    }
+
+    /** The operations of one key between two quiescent points, and their call/return events in order. */
+    private final class Segment {
+        final int n;
+        final int[] ids;
+        final int[] eventOp;
+        final boolean[] isCall;
+        final int[] callPos;
+
+        // local maps a key-wide operation index to its index within the segment
+        Segment(int[] keyIds, long[] events, int from, int to, int[] local) {
+            n = (to - from) / 2;
+            ids = new int[n];
+            eventOp = new int[to - from];
+            isCall = new boolean[to - from];
+            callPos = new int[n];
+            int next = 0;
+            for (int e = from; e < to; e++) {
+                int keyIndex = (int) (events[e] & (RETURN_BIT - 1));
+                int pos = e - from;
+                isCall[pos] = (events[e] & RETURN_BIT) == 0;
+                if (isCall[pos]) {
+                    local[keyIndex] = next;
+                    ids[next] = keyIds[keyIndex];
+                    callPos[next] = pos;
+                    next++;
+                }
+                eventOp[pos] = local[keyIndex];
+            }
+        }
+
+        /** Whether the operations have a legal sequential order from {@code start} that ends in {@code end}. */
+        int search(boolean start, boolean end) {
+            if (n == 1) {
+                int id = ids[0];
+                return legal(id, start) && after(id, start) == end ? YES : NO;
+            }
+            int m = 2 * n;
+            int head = m;
+            int[] next = new int[m + 1];
+            int[] prev = new int[m + 1];
+            for (int i = 0; i < m; i++) {
+                prev[i] = i == 0 ? head : i - 1;
+                next[i] = i + 1 < m ? i + 1 : NIL;
+            }
+            next[head] = 0;
+            prev[head] = NIL;
+            int[] returnPos = new int[n];
+            for (int pos = 0; pos < m; pos++) {
+                if (!isCall[pos]) returnPos[eventOp[pos]] = pos;
+            }
+
+            Set<BitSet> seen = new HashSet<>();
+            BitSet linearized = new BitSet(n + 1);
+            int[] stack = new int[n];
+            boolean[] stackState = new boolean[n];
+            int depth = 0;
+            boolean state = start;
+            int e = next[head];
+            long steps = 0;
+            while (true) {
+                if (++steps > stepLimit) return UNKNOWN;
+                if (e == NIL && state == end) {
+                    // Only reached with every operation linearized
+                    return YES;
+                }
+                if (e != NIL && isCall[e]) {
+                    int op = eventOp[e];
+                    int id = ids[op];
+                    if (legal(id, state)) {
+                        boolean after = after(id, state);
+                        BitSet memo = (BitSet) linearized.clone();
+                        memo.set(op);
+                        if (after) memo.set(n);
+                        if (seen.add(memo)) {
+                            stack[depth] = op;
+                            stackState[depth++] = state;
+                            linearized.set(op);
+                            state = after;
+                            unlink(next, prev, callPos[op]);
+                            unlink(next, prev, returnPos[op]);
+                            e = next[head];
+                            continue;
+                        }
+                    }
+                    e = next[e];
+                    continue;
+                }
+                // A pending operation returned before any order placed it, or the end state is wrong
+                if (depth == 0) return NO;
+                int op = stack[--depth];
+                state = stackState[depth];
+                linearized.clear(op);
+                relink(next, prev, returnPos[op]);
+                relink(next, prev, callPos[op]);
+                e = next[callPos[op]];
+            }
+        }
+    }
+
+    private static void unlink(int[] next, int[] prev, int pos) {
+        next[prev[pos]] = next[pos];
+        if (next[pos] != NIL) prev[next[pos]] = prev[pos];
+    }
+
+    private static void relink(int[] next, int[] prev, int pos) {
+        next[prev[pos]] = pos;
+        if (next[pos] != NIL) prev[next[pos]] = pos;
+    }
+
+    private boolean legal(int id, boolean present) {
+        switch (ops[id]) {
+            case TraceFormat.OP_INSERT: return results[id] == !present;
+            default: return results[id] == present;
+        }
+    }
+
+    private boolean after(int id, boolean present) {
+        switch (ops[id]) {
+            case TraceFormat.OP_INSERT: return true;
+            case TraceFormat.OP_REMOVE: return false;
+            default: return present;
+        }
+    }
+
+    /** Outcome of {@link #check(History)}. */
+    public static final class Report {
+        private final long operations;
+        private int keys;
+        private long segments;
+        private int inconclusiveKeys;
+        private final List<Violation> violations = new ArrayList<>();
+
+        Report(long operations) {
+            this.operations = operations;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public int getKeys() {
+            return keys;
+        }
+
+        public long getSegments() {
+            return segments;
+        }
+
+        public int getInconclusiveKeys() {
+            return inconclusiveKeys;
+        }
+
+        public List<Violation> getViolations() {
+            return violations;
+        }
+
+        public boolean isLinearizable() {
+            return violations.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d ops over %,d keys (%,d segments): %s%s", operations, keys, segments,
+                    violations.isEmpty() ? "linearizable" : violations.size() + " violations",
+                    inconclusiveKeys > 0 ? ", " + inconclusiveKeys + " keys inconclusive" : "");
+        }
+    }
+
+    /** A segment of one key's history that has no legal sequential order. */
+    public static final class Violation {
+        private final int key;
+        private final String operations;
+
+        Violation(int key, String operations) {
+            this.key = key;
+            this.operations = operations;
+        }
+
+        public int getKey() {
+            return key;
+        }
+
+        public String getOperations() {
+            return operations;
+        }
+
+        @Override
+        public String toString() {
+            return "key " + key + ": " + operations;
+        }
+    }
+}
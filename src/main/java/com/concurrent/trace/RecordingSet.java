@@ -0,0 +1,129 @@
+package com.concurrent.trace;
+
+import com.concurrent.datastructures.ConcurrentSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Decorator that records every operation, with its key and start time, into one trace
+ * file per calling thread ({@code thread-00000.trace}, ...) under a directory.
+ *
+ * Recording is off until {@link #start()}, so prefill traffic passes through unrecorded.
+ * Everything from then until {@link #close()} is recorded, so replaying the traces on a
+ * structure prefilled the same way reproduces every update it saw. Each thread appends to
+ * its own {@link TraceWriter} without synchronisation; the only shared state on the hot
+ * path is the volatile recording flag.
+ */
+public class RecordingSet implements ConcurrentSet {
+
+    private final ConcurrentSet delegate;
+    private final Path dir;
+    private final int elements;
+    private final int prefillPercent;
+    private final int prefillMode;
+    private final AtomicInteger nextThread = new AtomicInteger();
+    private final List<TraceWriter> writers = new ArrayList<>();
+    private final ThreadLocal<TraceWriter> writer = ThreadLocal.withInitial(this::newWriter);
+    private volatile boolean recording;
+    private volatile long startNanos;
+
+    /** The key range and prefill are stored in every trace header for replay to check. */
+    public RecordingSet(ConcurrentSet delegate, Path dir, int elements, int prefillPercent, int prefillMode)
+            throws IOException {
+        this.delegate = delegate;
+        this.dir = dir;
+        this.elements = elements;
+        this.prefillPercent = prefillPercent;
+        this.prefillMode = prefillMode;
+        Files.createDirectories(dir);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Stops recording and closes all trace files. Must only be called once the recording
+     * threads are done, since writers are owned by those threads.
+     */
+    public void close() throws IOException {
+        recording = false;
+        synchronized (writers) {
+            for (TraceWriter w : writers) w.close();
+            writers.clear();
+        }
+    }
+
+    @Override
+    public boolean insert(int key) {
+        if (recording) record(key, TraceFormat.OP_INSERT);
+        return delegate.insert(key);
+    }
+
+    @Override
+    public boolean remove(int key) {
+        if (recording) record(key, TraceFormat.OP_REMOVE);
+        return delegate.remove(key);
+    }
+
+    @Override
+    public boolean contains(int key) {
+        if (recording) record(key, TraceFormat.OP_CONTAINS);
+        return delegate.contains(key);
+    }
+
+    @Override
+    public void bulkLoad(int[] sortedKeys) {
+        delegate.bulkLoad(sortedKeys);
+    }
+
+    @Override
+    public int maxDepth() {
+        return delegate.maxDepth();
+    }
+
+    @Override
+    public double averageDepth() {
+        return delegate.averageDepth();
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        delegate.forEachKey(action);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return delegate.spliterator();
+    }
+
+    private void record(int key, byte op) {
+        try {
+            writer.get().write(System.nanoTime() - startNanos, key, op);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TraceWriter newWriter() {
+        Path file = dir.resolve(String.format("thread-%05d.trace", nextThread.getAndIncrement()));
+        try {
+            TraceWriter w = new TraceWriter(file, elements, prefillPercent, prefillMode);
+            synchronized (writers) {
+                writers.add(w);
+            }
+            return w;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
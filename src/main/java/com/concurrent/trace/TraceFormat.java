@@ -0,0 +1,44 @@
+package com.concurrent.trace;
+
+/**
+ * Layout of a per-thread operation trace file.
+ *
+ * <pre>
+ *   header (24 bytes): int magic, short version, short record size, long record count,
+ *                      int elements, byte prefill percent, byte prefill mode, 2 bytes padding
+ *   record (16 bytes): long nanos since recording start, int key, byte op, 3 bytes padding
+ * </pre>
+ *
+ * All values are big-endian. Fixed-width records let a reader index the mapped file
+ * directly instead of parsing it. The key range and prefill describe the state the first
+ * record was applied to; the prefill mode is the recorder's
+ * {@link com.concurrent.benchmark.PrefillMode} ordinal.
+ */
+public final class TraceFormat {
+
+    public static final int MAGIC = 0x43445354; // "CDST"
+    public static final short VERSION = 2;
+    public static final int HEADER_BYTES = 24;
+    public static final int RECORD_BYTES = 16;
+
+    // Offset of the record count in the header, patched when a writer closes
+    static final int COUNT_OFFSET = 8;
+    static final int ELEMENTS_OFFSET = 16;
+    static final int PREFILL_PERCENT_OFFSET = 20;
+    static final int PREFILL_MODE_OFFSET = 21;
+
+    public static final byte OP_CONTAINS = 0;
+    public static final byte OP_INSERT = 1;
+    public static final byte OP_REMOVE = 2;
+
+    private TraceFormat() {}
+
+    public static String opName(byte op) {
+        switch (op) {
+            case OP_CONTAINS: return "contains";
+            case OP_INSERT: return "insert";
+            case OP_REMOVE: return "remove";
+            default: return "op" + op;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.concurrent.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of one trace file through a memory mapping. Records are read with
+ * absolute gets straight from the mapped pages, so replay neither copies nor parses the
+ * file up front.
+ */
+public final class TraceReader {
+
+    private final Path file;
+    private final MappedByteBuffer map;
+    private final int size;
+    private final int elements;
+    private final int prefillPercent;
+    private final int prefillMode;
+
+    public TraceReader(Path file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < TraceFormat.HEADER_BYTES) throw new IOException("Truncated trace: " + file);
+            if (length > Integer.MAX_VALUE) throw new IOException("Trace larger than 2 GB: " + file);
+            // The mapping stays valid after the channel is closed
+            this.map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        if (map.getInt(0) != TraceFormat.MAGIC) throw new IOException("Not a trace file: " + file);
+        if (map.getShort(4) != TraceFormat.VERSION || map.getShort(6) != TraceFormat.RECORD_BYTES) {
+            throw new IOException("Unsupported trace version in " + file);
+        }
+        long count = map.getLong(TraceFormat.COUNT_OFFSET);
+        long available = (map.capacity() - TraceFormat.HEADER_BYTES) / TraceFormat.RECORD_BYTES;
+        // A recorder that was never closed leaves count 0; fall back to the file length
+        this.size = (int) (count == 0 ? available : Math.min(count, available));
+        this.elements = map.getInt(TraceFormat.ELEMENTS_OFFSET);
+        this.prefillPercent = map.get(TraceFormat.PREFILL_PERCENT_OFFSET);
+        this.prefillMode = map.get(TraceFormat.PREFILL_MODE_OFFSET);
+    }
+
+    /** Opens every {@code *.trace} file in {@code dir}, in file-name order (one per recorded thread). */
+    public static List<TraceReader> openAll(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".trace")).sorted()
+                    .collect(Collectors.toList());
+        }
+        if (files.isEmpty()) throw new IOException("No .trace files in " + dir);
+        List<TraceReader> readers = new ArrayList<>();
+        for (Path f : files) readers.add(new TraceReader(f));
+        return readers;
+    }
+
+    public Path getFile() { return file; }
+
+    public int size() { return size; }
+
+    public int elements() { return elements; }
+
+    public int prefillPercent() { return prefillPercent; }
+
+    public int prefillMode() { return prefillMode; }
+
+    public long nanos(int i) {
+        return map.getLong(TraceFormat.HEADER_BYTES + i * TraceFormat.RECORD_BYTES);
+    }
+
+    public int key(int i) {
+        return map.getInt(TraceFormat.HEADER_BYTES + i * TraceFormat.RECORD_BYTES + 8);
+    }
+
+    public byte op(int i) {
+        return map.get(TraceFormat.HEADER_BYTES + i * TraceFormat.RECORD_BYTES + 12);
+    }
+
+    /** Timestamp of the last record, i.e. the recorded duration of this thread's stream. */
+    public long spanNanos() {
+        return size == 0 ? 0 : nanos(size - 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.concurrent.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends fixed-width records to one trace file. Not thread-safe: each recording thread
+ * owns its writer. Records are staged in a direct buffer and written in large chunks.
+ */
+public final class TraceWriter implements AutoCloseable {
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * TraceFormat.RECORD_BYTES);
+    private long count;
+
+    /**
+     * Creates {@code file} for a recording whose keys are drawn from [0, elements) and whose
+     * first record follows a prefill of {@code prefillPercent} of them in {@code prefillMode}.
+     */
+    public TraceWriter(Path file, int elements, int prefillPercent, int prefillMode) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES);
+        header.putInt(TraceFormat.MAGIC)
+                .putShort(TraceFormat.VERSION)
+                .putShort((short) TraceFormat.RECORD_BYTES)
+                .putLong(0)
+                .putInt(elements)
+                .put((byte) prefillPercent)
+                .put((byte) prefillMode)
+                .putShort((short) 0)
+                .flip();
+        writeFully(header);
+    }
+
+    public void write(long nanos, int key, byte op) throws IOException {
+        if (!buffer.hasRemaining()) flush();
+        buffer.putLong(nanos).putInt(key).put(op).put((byte) 0).putShort((short) 0);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) channel.write(b);
+    }
+
+    /** Flushes pending records and stores the final record count in the header. */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer countBytes = ByteBuffer.allocate(Long.BYTES).putLong(count).flip();
+            while (countBytes.hasRemaining()) {
+                channel.write(countBytes, TraceFormat.COUNT_OFFSET + countBytes.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
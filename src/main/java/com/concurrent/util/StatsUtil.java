@@ -0,0 +1,138 @@
+package com.concurrent.util;
+
+import java.util.Arrays;
+
+/**
+ * Small set of descriptive statistics used to summarise repeated benchmark runs.
+ */
+public final class StatsUtil {
+
+    // Two-sided 95% Student t critical values for df = 1..30
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    // Sarle's bimodality coefficient above this value suggests a bimodal sample
+    private static final double BIMODAL_THRESHOLD = 5.0 / 9.0;
+
+    /** Fewest values the bimodality coefficient is defined for. */
+    public static final int MIN_BIMODAL_VALUES = 4;
+
+    private StatsUtil() {}
+
+    public static double mean(double[] values) {
+        return mean(values, values.length);
+    }
+
+    public static double mean(double[] values, int n) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) sum += values[i];
+        return sum / n;
+    }
+
+    /** Sample (n - 1) standard deviation; 0 for fewer than two values. */
+    public static double sampleStdDev(double[] values, int n) {
+        if (n < 2) return 0;
+        double m = mean(values, n);
+        double sumSquares = 0;
+        for (int i = 0; i < n; i++) {
+            sumSquares += (values[i] - m) * (values[i] - m);
+        }
+        return Math.sqrt(sumSquares / (n - 1));
+    }
+
+    public static double min(double[] values, int n) {
+        double m = values[0];
+        for (int i = 1; i < n; i++) if (values[i] < m) m = values[i];
+        return m;
+    }
+
+    public static double max(double[] values, int n) {
+        double m = values[0];
+        for (int i = 1; i < n; i++) if (values[i] > m) m = values[i];
+        return m;
+    }
+
+    public static double median(double[] values, int n) {
+        if (n == 0) return Double.NaN;
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        return (n % 2 == 1) ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+    }
+
+    /** Two-sided 95% critical value of Student's t distribution. */
+    public static double tCritical95(int df) {
+        if (df < 1) return Double.POSITIVE_INFINITY;
+        if (df <= T_95.length) return T_95[df - 1];
+        if (df <= 60) return 2.000;
+        if (df <= 120) return 1.980;
+        return 1.960;
+    }
+
+    /** Half width of the 95% confidence interval of the mean. */
+    public static double confidenceHalfWidth(double[] values, int n) {
+        if (n < 2) return Double.POSITIVE_INFINITY;
+        return tCritical95(n - 1) * sampleStdDev(values, n) / Math.sqrt(n);
+    }
+
+    /**
+     * Sarle's bimodality coefficient (skewness^2 + 1) / (kurtosis + 3(n-1)^2 / ((n-2)(n-3))),
+     * using the sample-size corrected skewness and excess kurtosis. Needs at least
+     * {@link #MIN_BIMODAL_VALUES} values. The small-sample correction keeps it low for small
+     * n: it cannot exceed 5/9 below 6 values, and below about 10 only a clean split does.
+     */
+    public static double bimodalityCoefficient(double[] values, int n) {
+        if (n < MIN_BIMODAL_VALUES) return Double.NaN;
+        double m = mean(values, n);
+        double m2 = 0, m3 = 0, m4 = 0;
+        for (int i = 0; i < n; i++) {
+            double d = values[i] - m;
+            m2 += d * d;
+            m3 += d * d * d;
+            m4 += d * d * d * d;
+        }
+        m2 /= n;
+        m3 /= n;
+        m4 /= n;
+        if (m2 == 0) return 0;
+
+        double g1 = m3 / Math.pow(m2, 1.5);
+        double g2 = m4 / (m2 * m2) - 3;
+        double skew = g1 * Math.sqrt((double) n * (n - 1)) / (n - 2);
+        double kurt = ((double) (n - 1) / ((n - 2) * (n - 3))) * ((n + 1) * g2 + 6);
+
+        return (skew * skew + 1) / (kurt + 3.0 * (n - 1) * (n - 1) / ((n - 2) * (n - 3)));
+    }
+
+    public static boolean isBimodal(double[] values, int n) {
+        double bc = bimodalityCoefficient(values, n);
+        return !Double.isNaN(bc) && bc > BIMODAL_THRESHOLD;
+    }
+
+    /** Welch's t statistic for the difference of means b - a; NaN if either sample has fewer than two values. */
+    public static double welchT(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return Double.NaN;
+        double se = Math.sqrt(variance(a) / a.length + variance(b) / b.length);
+        double diff = mean(b) - mean(a);
+        if (se == 0) return diff == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, diff);
+        return diff / se;
+    }
+
+    /** Welch-Satterthwaite degrees of freedom, rounded down to use with {@link #tCritical95}. */
+    public static int welchDegreesOfFreedom(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return 0;
+        double va = variance(a) / a.length;
+        double vb = variance(b) / b.length;
+        if (va + vb == 0) return a.length + b.length - 2;
+        double df = (va + vb) * (va + vb)
+                / (va * va / (a.length - 1) + vb * vb / (b.length - 1));
+        return Math.max(1, (int) Math.floor(df));
+    }
+
+    private static double variance(double[] values) {
+        double sd = sampleStdDev(values, values.length);
+        return sd * sd;
+    }
+}
@@ -0,0 +1,64 @@
+package com.concurrent.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScalabilityModelTest {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    private static ScalingCurve usl(double x1, double sigma, double kappa) {
+        double[] throughput = new double[THREADS.length];
+        for (int i = 0; i < THREADS.length; i++) {
+            double n = THREADS[i];
+            throughput[i] = x1 * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+        }
+        return new ScalingCurve("S", "W", THREADS, throughput);
+    }
+
+    @Test
+    void recoversUslCoefficientsFromExactCurve() {
+        ScalabilityModel model = ScalabilityModel.fit(usl(1000, 0.05, 0.001));
+        assertEquals(0.05, model.getSigma(), 1e-9);
+        assertEquals(0.001, model.getKappa(), 1e-9);
+        assertEquals(1, model.getRSquared(), 1e-9);
+        assertEquals(Math.sqrt(0.95 / 0.001), model.peakThreads(), 1e-6);
+        assertEquals(model.predictUsl(model.peakThreads()), model.peakThroughput(), 1e-9);
+    }
+
+    @Test
+    void amdahlCurveFitsWithZeroKappa() {
+        ScalabilityModel model = ScalabilityModel.fit(usl(500, 0.1, 0));
+        assertEquals(0.1, model.getSigma(), 1e-9);
+        assertEquals(0, model.getKappa(), 1e-9);
+        assertEquals(0.1, model.getAmdahlSigma(), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, model.peakThreads());
+        // The Amdahl ceiling X(1) / sigma
+        assertEquals(5000, model.peakThroughput(), 1e-6);
+        assertEquals(500 * 8 / (1 + 0.1 * 7), model.predictAmdahl(8), 1e-9);
+    }
+
+    @Test
+    void superlinearCurveIsClampedToNonNegativeCoefficients() {
+        ScalingCurve curve = new ScalingCurve("S", "W", new int[] {1, 2, 4}, new double[] {100, 210, 450});
+        ScalabilityModel model = ScalabilityModel.fit(curve);
+        assertEquals(0, model.getSigma());
+        assertEquals(0, model.getKappa());
+        assertEquals(0, model.getAmdahlSigma());
+    }
+
+    @Test
+    void efficiencyIsRelativeToLinearScaling() {
+        ScalabilityModel model = ScalabilityModel.fit(usl(1000, 0.05, 0.001));
+        assertEquals(1, model.efficiency(0), 1e-12);
+        assertEquals(model.getCurve().getThroughput(3) / 8000, model.efficiency(3), 1e-12);
+    }
+
+    @Test
+    void fitNeedsSingleThreadPoint() {
+        ScalingCurve curve = new ScalingCurve("S", "W", new int[] {2, 4}, new double[] {100, 150});
+        assertThrows(IllegalArgumentException.class, () -> ScalabilityModel.fit(curve));
+    }
+}
@@ -0,0 +1,56 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.datastructures.ConcurrentBST;
+import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.datastructures.RefinableHashSet;
+import com.concurrent.datastructures.StripedHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefillTest {
+
+    private static final int ELEMENTS = 8_000;
+
+    private static final List<Supplier<ConcurrentSet>> STRUCTURES = List.of(
+            ConcurrentBST::new, () -> new StripedHashSet(64), () -> new RefinableHashSet(64));
+
+    private static BenchmarkRunner runner(PrefillMode mode, int threads) {
+        return new BenchmarkRunner((ConcurrentSet) null, ELEMENTS, 50, 100, 0, 1, 1).setPrefill(mode, threads);
+    }
+
+    @Test
+    void everyModeFillsExactlyTheLowerHalf() throws InterruptedException {
+        for (PrefillMode mode : new PrefillMode[] {PrefillMode.ASCENDING, PrefillMode.RANDOM, PrefillMode.BULK}) {
+            for (int threads : new int[] {1, 4}) {
+                for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+                    ConcurrentSet set = factory.get();
+                    String cell = set.getClass().getSimpleName() + " " + mode + " x" + threads;
+                    assertEquals(ELEMENTS / 2, runner(mode, threads).prefill(set), cell);
+                    for (int key = 0; key < ELEMENTS; key++) {
+                        assertEquals(key < ELEMENTS / 2, set.contains(key), cell + " key " + key);
+                    }
+                    int[] count = {0};
+                    set.forEachKey(key -> count[0]++);
+                    assertEquals(ELEMENTS / 2, count[0], cell);
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomOrderKeepsTheBstShallow() throws InterruptedException {
+        ConcurrentSet random = new ConcurrentBST();
+        runner(PrefillMode.RANDOM, 4).prefill(random);
+        // A random BST over 4k keys is about 4.3 ln n = 36 deep; ascending inserts make a list
+        assertTrue(random.maxDepth() < 80, "depth " + random.maxDepth());
+
+        ConcurrentSet ascending = new ConcurrentBST();
+        runner(PrefillMode.ASCENDING, 1).prefill(ascending);
+        assertEquals(ELEMENTS / 2, ascending.maxDepth());
+    }
+}
@@ -0,0 +1,62 @@
+package com.concurrent.benchmark;
+
+import com.concurrent.datastructures.ConcurrentSet;
+import com.concurrent.datastructures.StripedHashSet;
+import com.concurrent.trace.TraceFormat;
+import com.concurrent.trace.TraceReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceRecordingTest {
+
+    private static final int ELEMENTS = 2_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayingTheTraceReproducesTheRecordedSet() throws InterruptedException, IOException {
+        ConcurrentSet[] recorded = new ConcurrentSet[1];
+        // Think time keeps the trace small; warmup must be recorded too
+        BenchmarkRunner runner = new BenchmarkRunner(() -> recorded[0] = new StripedHashSet(64),
+                ELEMENTS, 50, 40, 30, 1, 1, 1)
+                .setPrefill(PrefillMode.RANDOM, 2)
+                .setExecution(ExecutionMode.PLATFORM, 100)
+                .setWarmup(0.5, 100, 0.0)
+                .setTraceRecording(dir);
+        PerformanceMetrics metrics = runner.run();
+        assertTrue(metrics.getWarmupSeconds() > 0);
+
+        List<TraceReader> traces = TraceReader.openAll(dir);
+        assertEquals(1, traces.size());
+        TraceReader trace = traces.get(0);
+        assertEquals(ELEMENTS, trace.elements());
+        assertEquals(50, trace.prefillPercent());
+        assertEquals(PrefillMode.RANDOM.ordinal(), trace.prefillMode());
+        assertTrue(trace.size() > metrics.getTotalOps(), trace.size() + " records");
+
+        ConcurrentSet fresh = new StripedHashSet(64);
+        runner.prefill(fresh);
+        for (int i = 0; i < trace.size(); i++) {
+            int key = trace.key(i);
+            if (trace.op(i) == TraceFormat.OP_INSERT) fresh.insert(key);
+            else if (trace.op(i) == TraceFormat.OP_REMOVE) fresh.remove(key);
+        }
+        assertEquals(keys(recorded[0]), keys(fresh));
+    }
+
+    private static Set<Integer> keys(ConcurrentSet set) {
+        Set<Integer> keys = new TreeSet<>();
+        set.forEachKey(keys::add);
+        return keys;
+    }
+}
@@ -0,0 +1,31 @@
+package com.concurrent.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkloadTest {
+
+    @Test
+    void parseRoundTrips() {
+        Workload w = Workload.parse("90C-9I-1D");
+        assertEquals(90, w.containsPercent);
+        assertEquals(9, w.insertPercent);
+        assertEquals(1, w.deletePercent);
+        assertEquals("90C-9I-1D", w.toString());
+    }
+
+    @Test
+    void rejectsMixesNotSummingToHundred() {
+        assertThrows(IllegalArgumentException.class, () -> Workload.parse("90C-9I-9D"));
+        assertThrows(IllegalArgumentException.class, () -> Workload.parse("50C-25I-20D"));
+        assertThrows(IllegalArgumentException.class, () -> new Workload(110, 0, -10));
+    }
+
+    @Test
+    void rejectsMalformedText() {
+        assertThrows(IllegalArgumentException.class, () -> Workload.parse("90-9-1"));
+        assertThrows(IllegalArgumentException.class, () -> Workload.parse("xC-9I-1D"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkLoadTest {
+
+    private static final List<Supplier<ConcurrentSet>> STRUCTURES = List.of(
+            ConcurrentBST::new,
+            CompactBST::new,
+            ConcurrentAVL::new,
+            ConcurrentTreap::new,
+            () -> new StripedHashSet(64),
+            () -> new CompactStripedHashSet(64),
+            () -> new RefinableHashSet(64),
+            () -> new CompactRefinableHashSet(64));
+
+    private static final class TreeNode {
+        final int key, preorder;
+        final TreeNode left, right;
+
+        TreeNode(int key, int preorder, TreeNode left, TreeNode right) {
+            this.key = key;
+            this.preorder = preorder;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    @Test
+    void rejectsKeysThatAreNotStrictlyAscending() {
+        BulkLoad.checkSorted(new int[0]);
+        BulkLoad.checkSorted(new int[] {-3, 0, 7});
+        assertThrows(IllegalArgumentException.class, () -> BulkLoad.checkSorted(new int[] {1, 3, 2}));
+        assertThrows(IllegalArgumentException.class, () -> BulkLoad.checkSorted(new int[] {1, 2, 2}));
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            assertThrows(IllegalArgumentException.class, () -> set.bulkLoad(new int[] {5, 4}),
+                    set.getClass().getSimpleName());
+            assertFalse(set.contains(5), set.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void rejectsNonEmptySet() {
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            set.insert(42);
+            assertThrows(IllegalStateException.class, () -> set.bulkLoad(new int[] {1, 2, 3}),
+                    set.getClass().getSimpleName());
+            assertFalse(set.contains(1), set.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void loadedSetHoldsExactlyTheKeys() {
+        int[] keys = new int[20_000];
+        for (int i = 0; i < keys.length; i++) keys[i] = 3 * i - 10_000;
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            String name = set.getClass().getSimpleName();
+            set.bulkLoad(keys);
+            for (int key : keys) {
+                assertTrue(set.contains(key), name);
+                assertFalse(set.contains(key + 1), name);
+            }
+            int[] count = {0};
+            set.forEachKey(key -> count[0]++);
+            assertEquals(keys.length, count[0], name);
+            // Still a working set after the bulk load
+            assertTrue(set.insert(1), name);
+            assertTrue(set.remove(keys[0]), name);
+            assertFalse(set.contains(keys[0]), name);
+        }
+    }
+
+    @Test
+    void treesAreBuiltPerfectlyBalanced() {
+        for (int n : new int[] {0, 1, 2, 3, 7, 8, 1000, 20_000}) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) keys[i] = 2 * i;
+            for (Supplier<ConcurrentSet> factory : STRUCTURES.subList(0, 4)) {
+                ConcurrentSet set = factory.get();
+                set.bulkLoad(keys);
+                assertEquals(minimalHeight(n), set.maxDepth(), set.getClass().getSimpleName() + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void balancedTreeShapeAndPreorderPositions() {
+        // 20k keys takes the parallel path; the small sizes stay sequential
+        for (int n : new int[] {0, 1, 2, 5, 31, 32, 8191, 8192, 20_000}) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) keys[i] = 5 * i + 1;
+            TreeNode root = BulkLoad.balancedTree(keys, TreeNode::new);
+            if (n == 0) {
+                assertNull(root);
+                continue;
+            }
+            int[] next = {0};
+            checkInOrder(root, keys, next);
+            assertEquals(n, next[0]);
+            next[0] = 0;
+            checkPreorder(root, next);
+            assertEquals(minimalHeight(n), height(root), "n=" + n);
+            assertBalanced(root);
+        }
+    }
+
+    private static void checkInOrder(TreeNode node, int[] keys, int[] next) {
+        if (node == null) return;
+        checkInOrder(node.left, keys, next);
+        assertEquals(keys[next[0]++], node.key);
+        checkInOrder(node.right, keys, next);
+    }
+
+    private static void checkPreorder(TreeNode node, int[] next) {
+        if (node == null) return;
+        assertEquals(next[0]++, node.preorder);
+        checkPreorder(node.left, next);
+        checkPreorder(node.right, next);
+    }
+
+    // Subtree sizes of every node differ by at most one
+    private static int assertBalanced(TreeNode node) {
+        if (node == null) return 0;
+        int left = assertBalanced(node.left);
+        int right = assertBalanced(node.right);
+        assertTrue(Math.abs(left - right) <= 1, "unbalanced at " + node.key);
+        return left + right + 1;
+    }
+
+    private static int height(TreeNode node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    // floor(log2 n) + 1 levels
+    private static int minimalHeight(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+}
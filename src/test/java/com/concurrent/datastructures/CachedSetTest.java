@@ -0,0 +1,89 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedSetTest {
+
+    @Test
+    void writeInvalidatesCachedAnswer() {
+        CachedSet set = new CachedSet(new ConcurrentBST(), 16);
+        assertFalse(set.contains(7));
+        assertFalse(set.contains(7));
+        assertEquals(1, set.stats().getHits());
+
+        assertTrue(set.insert(7));
+        assertEquals(1, set.stats().getInvalidations());
+        assertTrue(set.contains(7));
+        assertTrue(set.contains(7));
+
+        assertTrue(set.remove(7));
+        assertEquals(2, set.stats().getInvalidations());
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    void lookupDuringWriteBypassesCache() throws InterruptedException {
+        CountDownLatch inWrite = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachedSet set = new CachedSet(new ConcurrentBST() {
+            @Override
+            public boolean insert(int key) {
+                inWrite.countDown();
+                await(release);
+                return super.insert(key);
+            }
+        }, 16);
+        Thread writer = Thread.ofPlatform().start(() -> set.insert(7));
+        await(inWrite);
+        assertFalse(set.contains(7));
+        assertEquals(1, set.stats().getBypasses());
+        release.countDown();
+        writer.join();
+        assertTrue(set.contains(7));
+    }
+
+    @Test
+    void fillRacingAWriteIsRejected() throws InterruptedException {
+        CountDownLatch looked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachedSet set = new CachedSet(new ConcurrentBST() {
+            @Override
+            public boolean contains(int key) {
+                boolean member = super.contains(key);
+                // Hold the first lookup between reading the delegate and filling the slot
+                if (looked.getCount() > 0) {
+                    looked.countDown();
+                    await(release);
+                }
+                return member;
+            }
+        }, 16);
+        boolean[] stale = new boolean[1];
+        Thread reader = Thread.ofPlatform().start(() -> stale[0] = set.contains(7));
+        await(looked);
+        assertTrue(set.insert(7));
+        release.countDown();
+        reader.join();
+
+        assertFalse(stale[0]);
+        assertEquals(1, set.stats().getRejectedFills());
+        // The stale miss must not have been cached
+        assertTrue(set.contains(7));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) throw new AssertionError("timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentBSTTest {
+
+    private static final List<Supplier<ConcurrentSet>> STRUCTURES = List.of(ConcurrentBST::new, CompactBST::new);
+
+    @Test
+    void removeWithDeepSuccessorReleasesEveryLock() {
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            // 50's successor 55 is two levels below its right child: 50 -> 70 -> 60 -> 55
+            for (int key : new int[] {50, 30, 70, 60, 80, 65, 55}) assertTrue(set.insert(key));
+            assertTrue(set.remove(50));
+            assertFalse(set.contains(50));
+            for (int key : new int[] {30, 55, 60, 65, 70, 80}) assertTrue(set.contains(key));
+
+            // A lock left held (or released twice) would hang or fail another thread here
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                Thread other = new Thread(() -> {
+                    for (int key : new int[] {30, 55, 60, 65, 70, 80}) set.remove(key);
+                    set.insert(50);
+                });
+                other.start();
+                other.join();
+            });
+            int[] count = {0};
+            set.forEachKey(key -> count[0]++);
+            assertEquals(1, count[0], set.getClass().getSimpleName());
+            assertTrue(set.contains(50));
+        }
+    }
+
+    @Test
+    void concurrentUpdatesOnDisjointKeysKeepTheSet() throws InterruptedException {
+        int threads = 4, perThread = 2_000;
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                workers[t] = new Thread(() -> {
+                    // Interleaved keys so every thread works all over the tree
+                    List<Integer> keys = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) keys.add(i * threads + id);
+                    Collections.shuffle(keys);
+                    for (int key : keys) if (!set.insert(key)) failure.compareAndSet(null, new AssertionError("insert " + key));
+                    Collections.shuffle(keys);
+                    // Remove the odd half; inner nodes with two children take the successor path
+                    for (int key : keys) {
+                        if ((key & 1) == 1 && !set.remove(key)) failure.compareAndSet(null, new AssertionError("remove " + key));
+                    }
+                });
+                workers[t].setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+                workers[t].start();
+            }
+            for (Thread w : workers) w.join();
+            assertNull(failure.get(), set.getClass().getSimpleName());
+            for (int key = 0; key < threads * perThread; key++) {
+                assertEquals((key & 1) == 0, set.contains(key), set.getClass().getSimpleName() + " key " + key);
+            }
+        }
+    }
+}
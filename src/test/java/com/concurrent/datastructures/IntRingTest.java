@@ -0,0 +1,75 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntRingTest {
+
+    @Test
+    void pollsInOfferOrderAcrossWrapAround() {
+        IntRing ring = new IntRing(4);
+        assertEquals(IntRing.EMPTY, ring.poll());
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) assertTrue(ring.offer(round * 10 + i));
+            for (int i = 0; i < 3; i++) assertEquals(round * 10 + i, ring.poll());
+            assertEquals(IntRing.EMPTY, ring.poll());
+        }
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        IntRing ring = new IntRing(2);
+        assertTrue(ring.offer(Integer.MIN_VALUE));
+        assertTrue(ring.offer(-1));
+        assertFalse(ring.offer(3));
+        assertEquals(Integer.MIN_VALUE, ring.poll());
+        assertTrue(ring.offer(3));
+        assertEquals(-1, ring.poll());
+        assertEquals(3, ring.poll());
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        IntRing ring = new IntRing(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) Thread.onSpinWait();
+                }
+            }));
+        }
+        BitSet seen = new BitSet();
+        int received = 0;
+        while (received < producers * perProducer) {
+            long value = ring.poll();
+            if (value == IntRing.EMPTY) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(seen.get((int) value), "delivered twice: " + value);
+            seen.set((int) value);
+            received++;
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(IntRing.EMPTY, ring.poll());
+        assertEquals(producers * perProducer, seen.cardinality());
+    }
+
+    @Test
+    void capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new IntRing(6));
+        assertThrows(IllegalArgumentException.class, () -> new IntRing(1));
+    }
+}
@@ -0,0 +1,96 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelaxedAVLTest {
+
+    @Test
+    void concurrentUpdatesMatchAReferenceSet() throws InterruptedException {
+        int threads = 4, keysPerThread = 512, opsPerThread = 100_000;
+        try (RelaxedAVL set = new RelaxedAVL()) {
+            @SuppressWarnings("unchecked")
+            Set<Integer>[] expected = new Set[threads];
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                Set<Integer> reference = expected[t] = new HashSet<>();
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    // Each thread owns the keys congruent to its id, so its reference set is exact
+                    // while rotations and unlinks move nodes shared with the other threads
+                    for (int i = 0; i < opsPerThread; i++) {
+                        int key = rnd.nextInt(keysPerThread) * threads + id;
+                        int op = rnd.nextInt(3);
+                        boolean actual = op == 0 ? set.insert(key) : op == 1 ? set.remove(key) : set.contains(key);
+                        boolean wanted = op == 0 ? reference.add(key) : op == 1 ? reference.remove(key) : reference.contains(key);
+                        if (actual != wanted) {
+                            failure.compareAndSet(null, new AssertionError("op " + op + " on " + key + " returned " + actual));
+                            return;
+                        }
+                    }
+                });
+                workers[t].setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+                workers[t].start();
+            }
+            for (Thread w : workers) w.join();
+            assertNull(failure.get());
+
+            Set<Integer> all = new HashSet<>();
+            for (Set<Integer> s : expected) all.addAll(s);
+            for (int key = 0; key < threads * keysPerThread; key++) {
+                assertEquals(all.contains(key), set.contains(key), "key " + key);
+            }
+            Set<Integer> listed = new HashSet<>();
+            set.forEachKey(listed::add);
+            assertEquals(all, listed);
+        }
+    }
+
+    @Test
+    void orderedInsertsAreRebalancedToLogarithmicDepth() throws InterruptedException {
+        int n = 1 << 14;
+        try (RelaxedAVL set = new RelaxedAVL()) {
+            // Ascending inserts build a list until the maintenance thread catches up
+            for (int key = 0; key < n; key++) assertTrue(set.insert(key));
+            awaitQuiescence(set);
+
+            double log2 = Math.log(n) / Math.log(2);
+            // A perfectly balanced tree averages log2(n) - 1 levels per key, counting the root as 1
+            double avg = set.averageDepth();
+            assertEquals(log2 - 1, avg, 0.5);
+            // AVL height bound
+            assertTrue(set.maxDepth() <= 1.45 * log2, "max depth " + set.maxDepth());
+            int[] count = {0};
+            set.forEachKey(key -> count[0]++);
+            assertEquals(n, count[0]);
+        }
+    }
+
+    // Waits until the tree's shape stops changing, i.e. the maintenance thread is idle
+    private static void awaitQuiescence(RelaxedAVL set) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int stable = 0;
+        int lastDepth = -1;
+        double lastAvg = -1;
+        while (stable < 5) {
+            if (System.nanoTime() > deadline) throw new AssertionError("maintenance did not settle");
+            Thread.sleep(20);
+            int depth = set.maxDepth();
+            double avg = set.averageDepth();
+            stable = depth == lastDepth && avg == lastAvg ? stable + 1 : 0;
+            lastDepth = depth;
+            lastAvg = avg;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SetSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotRoundTripsThroughAnotherStructure() throws IOException {
+        ConcurrentSet source = new StripedHashSet(64);
+        int[] keys = {-7, 0, 3, 42, 1000, 99_999};
+        for (int i = keys.length - 1; i >= 0; i--) source.insert(keys[i]);
+        Path file = dir.resolve("set.snap");
+        source.snapshotTo(file);
+        assertEquals(SetSnapshot.HEADER_BYTES + 4L * keys.length, Files.size(file));
+        assertArrayEquals(keys, SetSnapshot.read(file));
+
+        ConcurrentBST restored = new ConcurrentBST();
+        restored.restoreFrom(file);
+        for (int key : keys) assertEquals(true, restored.contains(key));
+        assertEquals(false, restored.contains(1));
+        IntList out = new IntList();
+        restored.forEachKey(out::add);
+        assertEquals(keys.length, out.size());
+    }
+
+    @Test
+    void emptySetRoundTrips() throws IOException {
+        Path file = dir.resolve("empty.snap");
+        new RefinableHashSet(16).snapshotTo(file);
+        assertArrayEquals(new int[0], SetSnapshot.read(file));
+    }
+
+    @Test
+    void rejectsTruncatedSnapshot() throws IOException {
+        ConcurrentSet source = new StripedHashSet(16);
+        for (int i = 0; i < 100; i++) source.insert(i);
+        Path file = dir.resolve("cut.snap");
+        source.snapshotTo(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 4);
+        }
+        assertThrows(IOException.class, () -> SetSnapshot.read(file));
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Path file = dir.resolve("foreign.snap");
+        Files.write(file, new byte[SetSnapshot.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> SetSnapshot.read(file));
+    }
+}
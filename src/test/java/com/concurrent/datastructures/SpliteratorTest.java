@@ -0,0 +1,129 @@
+package com.concurrent.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpliteratorTest {
+
+    private static final int KEYS = 5_000;
+
+    private static final List<Supplier<ConcurrentSet>> STRUCTURES = List.of(
+            () -> new StripedHashSet(64),
+            () -> new CompactStripedHashSet(64),
+            () -> new RefinableHashSet(64),
+            () -> new CompactRefinableHashSet(64),
+            ConcurrentBST::new,
+            CompactBST::new,
+            RelaxedAVL::new);
+
+    @Test
+    void splitsCoverEveryKeyExactlyOnce() {
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            try {
+                int[] keys = new int[KEYS];
+                for (int i = 0; i < KEYS; i++) keys[i] = 2 * i;
+                set.bulkLoad(keys);
+                assertCovers(set, keys, set.getClass().getSimpleName());
+            } finally {
+                close(set);
+            }
+        }
+    }
+
+    @Test
+    void splitsSkipRemovedKeys() {
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            try {
+                for (int i = 0; i < KEYS; i++) set.insert((i * 7919) % KEYS);
+                int[] left = new int[KEYS - (KEYS + 2) / 3];
+                int n = 0;
+                for (int i = 0; i < KEYS; i++) {
+                    if (i % 3 == 0) set.remove(i);
+                    else left[n++] = i;
+                }
+                // Stops RelaxedAVL's rebalancing, which may move keys under a running scan
+                close(set);
+                assertCovers(set, left, set.getClass().getSimpleName());
+            } finally {
+                close(set);
+            }
+        }
+    }
+
+    @Test
+    void emptySetYieldsNothing() {
+        for (Supplier<ConcurrentSet> factory : STRUCTURES) {
+            ConcurrentSet set = factory.get();
+            try {
+                Spliterator.OfInt keys = set.spliterator();
+                assertFalse(keys.tryAdvance((int key) -> { }), set.getClass().getSimpleName());
+            } finally {
+                close(set);
+            }
+        }
+    }
+
+    @Test
+    void bucketSplitsHalveTheRange() {
+        BucketSpliterator keys = new BucketSpliterator((bucket, out) -> out.add(bucket), 8, 8);
+        Spliterator.OfInt upper = keys.trySplit();
+        assertEquals(4, keys.estimateSize());
+        BitSet seen = new BitSet();
+        upper.forEachRemaining((int key) -> seen.set(key));
+        assertEquals("{4, 5, 6, 7}", seen.toString());
+        // One bucket cannot be split further
+        BucketSpliterator single = new BucketSpliterator((bucket, out) -> out.add(bucket), 1, 1);
+        assertEquals(null, single.trySplit());
+    }
+
+    /**
+     * Splits down to single pieces in breadth-first order and drains them, alternating
+     * tryAdvance and forEachRemaining, then compares the union against {@code expected}.
+     */
+    private static void assertCovers(ConcurrentSet set, int[] expected, String name) {
+        BitSet seen = new BitSet();
+        int[] visits = {0};
+        Deque<Spliterator.OfInt> queue = new ArrayDeque<>();
+        queue.add(set.spliterator());
+        int pieces = 0;
+        while (!queue.isEmpty()) {
+            Spliterator.OfInt piece = queue.poll();
+            Spliterator.OfInt split = pieces < 64 ? piece.trySplit() : null;
+            if (split != null) {
+                queue.add(piece);
+                queue.add(split);
+                pieces++;
+                continue;
+            }
+            piece.tryAdvance((int key) -> {
+                seen.set(key);
+                visits[0]++;
+            });
+            piece.forEachRemaining((int key) -> {
+                seen.set(key);
+                visits[0]++;
+            });
+        }
+        assertTrue(pieces > 1, name + " did not split");
+        assertEquals(expected.length, visits[0], name + " visited a key twice or missed one");
+        BitSet want = new BitSet();
+        for (int key : expected) want.set(key);
+        assertEquals(want, seen, name);
+    }
+
+    private static void close(ConcurrentSet set) {
+        if (set instanceof RelaxedAVL) ((RelaxedAVL) set).close();
+    }
+}
@@ -0,0 +1,129 @@
+package com.concurrent.locks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentedLockTest {
+
+    @Test
+    void uncontendedAcquisitionsAndHolds() {
+        LockGroup group = new LockGroup("g");
+        Lock lock = new InstrumentedLock(new ReentrantLock(), group, 2);
+        for (int i = 0; i < 3; i++) {
+            lock.lock();
+            lock.unlock();
+        }
+        assertTrue(lock.tryLock());
+        lock.unlock();
+
+        LockGroupStats s = group.snapshot();
+        assertEquals(4, s.getAcquisitions());
+        assertEquals(0, s.getContended());
+        assertEquals(4, s.stripeAcquisitions(2));
+        assertTrue(s.getAvgHoldNanos() >= 0);
+    }
+
+    @Test
+    void reentrantHoldCountsOnce() throws InterruptedException {
+        LockGroup group = new LockGroup("g");
+        Lock lock = new InstrumentedLock(new ReentrantLock(), group, -1);
+        lock.lock();
+        lock.lock();
+        assertTrue(lock.tryLock());
+        Thread.sleep(20);
+        lock.unlock();
+        lock.unlock();
+        lock.unlock();
+
+        LockGroupStats s = group.snapshot();
+        assertEquals(3, s.getAcquisitions());
+        // One hold spanning the outermost lock/unlock pair, not three nested ones
+        assertTrue(s.getTotalHoldNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(s.getTotalHoldNanos(), s.getAvgHoldNanos(), 1e-9);
+        assertEquals(0, s.getStripeCount());
+    }
+
+    @Test
+    void waitBehindAnotherHolderIsContended() throws InterruptedException {
+        LockGroup group = new LockGroup("g");
+        for (LockKind kind : LockKind.values()) {
+            group.reset();
+            Lock lock = new InstrumentedLock(kind.create(), group, 0);
+            lock.lock();
+            CountDownLatch acquired = new CountDownLatch(1);
+            Thread waiter = new Thread(() -> {
+                lock.lock();
+                lock.unlock();
+                acquired.countDown();
+            });
+            waiter.start();
+            Thread.sleep(30);
+            assertEquals(1, acquired.getCount(), kind.name());
+            lock.unlock();
+            assertTrue(acquired.await(10, TimeUnit.SECONDS), kind.name());
+            waiter.join();
+
+            LockGroupStats s = group.snapshot();
+            assertEquals(2, s.getAcquisitions(), kind.name());
+            assertEquals(1, s.getContended(), kind.name());
+            assertEquals(1, s.stripeContended(0), kind.name());
+            assertTrue(s.getAvgWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(20), kind.name());
+        }
+    }
+
+    @Test
+    void readersQueueBehindAWaitingWriter() throws InterruptedException {
+        LockGroup reads = new LockGroup("rw.read");
+        LockGroup writes = new LockGroup("rw.write");
+        ReentrantReadWriteLock rw = new InstrumentedReadWriteLock(reads, writes);
+        rw.readLock().lock();
+
+        AtomicBoolean writerDone = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            rw.writeLock().lock();
+            writerDone.set(true);
+            rw.writeLock().unlock();
+        });
+        writer.start();
+        awaitTrue(() -> rw.getQueueLength() == 1);
+
+        AtomicBoolean readerSawWriter = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            rw.readLock().lock();
+            readerSawWriter.set(writerDone.get());
+            rw.readLock().unlock();
+        });
+        reader.start();
+        // The second reader must not barge past the queued writer
+        awaitTrue(() -> rw.getQueueLength() == 2);
+        assertFalse(writerDone.get());
+
+        rw.readLock().unlock();
+        writer.join();
+        reader.join();
+        assertTrue(readerSawWriter.get());
+
+        assertEquals(2, reads.snapshot().getAcquisitions());
+        assertEquals(1, reads.snapshot().getContended());
+        assertEquals(1, writes.snapshot().getContended());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("timed out");
+            Thread.sleep(1);
+        }
+    }
+}
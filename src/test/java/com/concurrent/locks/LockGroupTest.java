@@ -0,0 +1,101 @@
+package com.concurrent.locks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LockGroupTest {
+
+    @Test
+    void countsAcquisitionsContentionAndHolds() {
+        LockGroup group = new LockGroup("g");
+        LockGroup.Stripe hot = group.stripe(3);
+        LockGroup.Stripe cold = group.stripe(7);
+        for (int i = 0; i < 6; i++) group.recordUncontended(hot);
+        group.recordContended(hot, 100);
+        group.recordContended(cold, 1_000);
+        group.recordUncontended(null);
+        group.recordHold(50);
+        group.recordHold(150);
+
+        LockGroupStats s = group.snapshot();
+        assertEquals("g", s.getName());
+        assertEquals(9, s.getAcquisitions());
+        assertEquals(2, s.getContended());
+        assertEquals(2.0 / 9, s.getContendedFraction(), 1e-12);
+        assertEquals(1_100, s.getTotalWaitNanos());
+        assertEquals(550, s.getAvgWaitNanos(), 1e-9);
+        assertEquals(100, s.getAvgHoldNanos(), 1e-9);
+        assertEquals(7, s.stripeAcquisitions(3));
+        assertEquals(1, s.stripeContended(3));
+        assertEquals(1, s.stripeAcquisitions(7));
+        assertEquals(0, s.stripeAcquisitions(5));
+        assertEquals(List.of(3, 7), s.hottestStripes(5));
+        assertSame(group.stripe(3), hot);
+    }
+
+    @Test
+    void waitPercentilesUseHistogramBucketBounds() {
+        LockGroup group = new LockGroup("g");
+        // 100 ns falls in [64, 128); 5000 ns in [4096, 8192)
+        for (int i = 0; i < 99; i++) group.recordContended(null, 100);
+        group.recordContended(null, 5_000);
+        LockGroupStats s = group.snapshot();
+        assertEquals(128, s.waitPercentileNanos(0.5));
+        assertEquals(128, s.waitPercentileNanos(0.99));
+        assertEquals(8_192, s.waitPercentileNanos(1.0));
+        assertEquals(0, new LockGroup("empty").snapshot().waitPercentileNanos(0.5));
+    }
+
+    @Test
+    void resetClearsEveryCounter() {
+        LockGroup group = new LockGroup("g");
+        group.recordContended(group.stripe(0), 10);
+        group.recordHold(10);
+        group.reset();
+        LockGroupStats s = group.snapshot();
+        assertEquals(0, s.getAcquisitions());
+        assertEquals(0, s.getContended());
+        assertEquals(0, s.getTotalHoldNanos());
+        assertEquals(0, s.getStripeCount());
+    }
+
+    @Test
+    void mergeAddsSnapshotsOfRepeatedRuns() {
+        LockGroup a = new LockGroup("g");
+        a.recordContended(a.stripe(1), 100);
+        a.recordHold(10);
+        LockGroup b = new LockGroup("g");
+        b.recordUncontended(b.stripe(1));
+        b.recordUncontended(b.stripe(2));
+        b.recordHold(30);
+
+        LockGroupStats merged = a.snapshot().merge(b.snapshot());
+        assertEquals(3, merged.getAcquisitions());
+        assertEquals(1, merged.getContended());
+        assertEquals(20, merged.getAvgHoldNanos(), 1e-9);
+        assertEquals(2, merged.stripeAcquisitions(1));
+        assertEquals(1, merged.stripeContended(1));
+        assertEquals(1, merged.stripeAcquisitions(2));
+        assertEquals(1, merged.getWaitHistogram()[6]);
+    }
+
+    @Test
+    void disabledFactoriesReturnPlainLocks() {
+        // The test JVM runs without -Dds.lockStats=true
+        assertFalse(LockStats.ENABLED);
+        assertSame(ReentrantLock.class, LockStats.newLock("g", 0).getClass());
+        assertSame(ReentrantReadWriteLock.class, LockStats.newReadWriteLock("g").getClass());
+        for (LockKind kind : LockKind.values()) {
+            assertFalse(kind.newLock("g", 0) instanceof InstrumentedLock, kind.name());
+        }
+        assertTrue(LockStats.snapshot().isEmpty());
+    }
+}
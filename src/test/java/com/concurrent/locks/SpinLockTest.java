@@ -0,0 +1,133 @@
+package com.concurrent.locks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpinLockTest {
+
+    private static final List<LockKind> SPIN_LOCKS = List.of(LockKind.TTAS, LockKind.MCS, LockKind.CLH, LockKind.COHORT);
+
+    private static final int THREADS = 6;
+    private static final int ROUNDS = 20_000;
+
+    // Plain field: lost updates show up unless the lock orders every increment
+    private int counter;
+
+    @Test
+    void lockKeepsAPlainCounterExact() {
+        for (LockKind kind : SPIN_LOCKS) {
+            Lock lock = kind.create();
+            counter = 0;
+            run(kind, id -> {
+                for (int i = 0; i < ROUNDS; i++) {
+                    lock.lock();
+                    try {
+                        counter++;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+            assertEquals(THREADS * ROUNDS, counter, kind.name());
+        }
+    }
+
+    @Test
+    void atMostOneHolderWithTryLockAndLockMixed() {
+        for (LockKind kind : SPIN_LOCKS) {
+            Lock lock = kind.create();
+            AtomicInteger holders = new AtomicInteger();
+            AtomicInteger acquisitions = new AtomicInteger();
+            counter = 0;
+            run(kind, id -> {
+                for (int i = 0; i < ROUNDS; i++) {
+                    // Even threads poll with tryLock, odd ones queue with lock
+                    if ((id & 1) == 0) {
+                        if (!lock.tryLock()) continue;
+                    } else {
+                        lock.lock();
+                    }
+                    try {
+                        if (holders.incrementAndGet() != 1) throw new AssertionError("two holders");
+                        counter++;
+                        acquisitions.incrementAndGet();
+                        holders.decrementAndGet();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+            assertEquals(acquisitions.get(), counter, kind.name());
+            assertTrue(acquisitions.get() >= (THREADS / 2) * ROUNDS, kind.name());
+        }
+    }
+
+    @Test
+    void waitersBlockUntilRelease() throws InterruptedException {
+        for (LockKind kind : SPIN_LOCKS) {
+            Lock lock = kind.create();
+            lock.lock();
+            AtomicBoolean released = new AtomicBoolean();
+            AtomicBoolean sawRelease = new AtomicBoolean();
+            CountDownLatch acquired = new CountDownLatch(1);
+            Thread waiter = new Thread(() -> {
+                lock.lock();
+                sawRelease.set(released.get());
+                lock.unlock();
+                acquired.countDown();
+            });
+            waiter.start();
+            // Long enough for the waiter to move from spinning to parking
+            assertFalse(acquired.await(50, TimeUnit.MILLISECONDS), kind.name());
+            Thread probe = new Thread(() -> {
+                try {
+                    if (lock.tryLock(10, TimeUnit.MILLISECONDS)) throw new AssertionError("acquired a held lock");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            probe.start();
+            probe.join();
+            released.set(true);
+            lock.unlock();
+            assertTrue(acquired.await(10, TimeUnit.SECONDS), kind.name());
+            waiter.join();
+            assertTrue(sawRelease.get(), kind.name());
+            assertTrue(lock.tryLock(), kind.name());
+            lock.unlock();
+        }
+    }
+
+    private interface Worker {
+        void run(int id);
+    }
+
+    private static void run(LockKind kind, Worker worker) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int id = t;
+                threads[t] = new Thread(() -> worker.run(id));
+                threads[t].setUncaughtExceptionHandler((th, e) -> failure.compareAndSet(null, e));
+                threads[t].start();
+            }
+            for (Thread t : threads) t.join();
+        }, kind.name());
+        assertNull(failure.get(), kind.name());
+    }
+}
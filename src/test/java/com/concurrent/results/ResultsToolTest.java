@@ -0,0 +1,45 @@
+package com.concurrent.results;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResultsToolTest {
+
+    @TempDir
+    Path dir;
+
+    private static final double[] BASE = {1000, 1010, 990, 1005};
+    private static final double[] SLOWER = {800, 810, 790, 805};
+
+    @Test
+    void slowerCellOfMatchingRunRegresses() throws IOException {
+        ResultsStore store = store(Map.of("elements", "1000"), Map.of("elements", "1000"));
+        assertEquals(1, ResultsTool.compare(store.read(), "a", "b", 2.0));
+    }
+
+    @Test
+    void runsWithDifferentElementCountsPairNoCells() throws IOException {
+        ResultsStore store = store(Map.of("elements", "1000"), Map.of("elements", "100000"));
+        assertEquals(0, ResultsTool.compare(store.read(), "a", "b", 2.0));
+    }
+
+    private ResultsStore store(Map<String, String> baseConfig, Map<String, String> candConfig) throws IOException {
+        ResultsStore store = new ResultsStore(dir.resolve("history.cdsr"));
+        store.appendRun(new RunMetadata("a", 0, "x", "jvm", 1, baseConfig));
+        store.appendCell(cell("a", BASE));
+        store.appendRun(new RunMetadata("b", 1, "x", "jvm", 1, candConfig));
+        store.appendCell(cell("b", SLOWER));
+        return store;
+    }
+
+    private static CellResult cell(String runId, double[] throughputs) {
+        return new CellResult(runId, "BST", "90/5/5", 4, Map.of("mode", "PLATFORM"), throughputs,
+                Map.of("OpsPerSec", throughputs[0]));
+    }
+}
@@ -0,0 +1,124 @@
+package com.concurrent.stress;
+
+import com.concurrent.trace.TraceFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinearizabilityCheckerTest {
+
+    private static final byte CONTAINS = TraceFormat.OP_CONTAINS;
+    private static final byte INSERT = TraceFormat.OP_INSERT;
+    private static final byte REMOVE = TraceFormat.OP_REMOVE;
+
+    private static LinearizabilityChecker.Report check(History history) {
+        return new LinearizabilityChecker().check(history);
+    }
+
+    @Test
+    void singleClientInsertThenMissIsViolation() {
+        History history = new History(1, 2, 0);
+        HistoryBuffer b = history.buffer(0);
+        b.mark(0);
+        b.record(INSERT, 5, true, 10);
+        b.record(CONTAINS, 5, false, 20);
+        LinearizabilityChecker.Report report = check(history);
+        assertFalse(report.isLinearizable(), report.toString());
+        assertEquals(5, report.getViolations().get(0).getKey());
+    }
+
+    @Test
+    void singleClientDoubleInsertIsViolation() {
+        History history = new History(1, 2, 0);
+        HistoryBuffer b = history.buffer(0);
+        b.mark(0);
+        b.record(INSERT, 3, true, 10);
+        b.record(INSERT, 3, true, 20);
+        assertFalse(check(history).isLinearizable());
+    }
+
+    @Test
+    void failedRemoveOfPrefilledKeyIsViolation() {
+        History history = new History(1, 1, 4);
+        HistoryBuffer b = history.buffer(0);
+        b.mark(0);
+        b.record(REMOVE, 2, false, 10);
+        assertFalse(check(history).isLinearizable());
+    }
+
+    @Test
+    void prefilledRemoveFollowedByHitIsViolation() {
+        History history = new History(1, 2, 4);
+        HistoryBuffer b = history.buffer(0);
+        b.mark(0);
+        b.record(REMOVE, 2, true, 10);
+        b.record(CONTAINS, 2, true, 20);
+        assertFalse(check(history).isLinearizable());
+    }
+
+    @Test
+    void sequentialClientHistoryIsLinearizable() {
+        History history = new History(1, 5, 1);
+        HistoryBuffer b = history.buffer(0);
+        b.mark(0);
+        b.record(CONTAINS, 0, true, 10);
+        b.record(REMOVE, 0, true, 20);
+        b.record(INSERT, 1, true, 30);
+        b.record(INSERT, 1, false, 40);
+        b.record(CONTAINS, 0, false, 50);
+        assertTrue(check(history).isLinearizable());
+    }
+
+    @Test
+    void overlappingClientsMayLinearizeEitherWay() {
+        // Client 1's miss overlaps client 0's insert, so it may take effect first
+        History history = new History(2, 1, 0);
+        history.buffer(0).mark(0);
+        history.buffer(0).record(INSERT, 7, true, 100);
+        history.buffer(1).mark(50);
+        history.buffer(1).record(CONTAINS, 7, false, 150);
+        assertTrue(check(history).isLinearizable());
+    }
+
+    @Test
+    void missAfterAnotherClientsInsertReturnedIsViolation() {
+        History history = new History(2, 1, 0);
+        history.buffer(0).mark(0);
+        history.buffer(0).record(INSERT, 7, true, 100);
+        history.buffer(1).mark(120);
+        history.buffer(1).record(CONTAINS, 7, false, 150);
+        assertFalse(check(history).isLinearizable());
+    }
+
+    @Test
+    void touchingIntervalsOfDifferentClientsOverlap() {
+        // Equal clock readings on two clients give no real-time order between them
+        History history = new History(2, 1, 0);
+        history.buffer(0).mark(0);
+        history.buffer(0).record(INSERT, 7, true, 100);
+        history.buffer(1).mark(99);
+        history.buffer(1).record(CONTAINS, 7, false, 150);
+        assertTrue(check(history).isLinearizable());
+    }
+
+    @Test
+    void violationsAreReportedPerKey() {
+        History history = new History(2, 3, 0);
+        HistoryBuffer a = history.buffer(0);
+        a.mark(0);
+        a.record(INSERT, 1, true, 10);
+        a.record(INSERT, 2, true, 20);
+        a.record(CONTAINS, 1, true, 30);
+        HistoryBuffer b = history.buffer(1);
+        b.mark(25);
+        b.record(CONTAINS, 2, false, 40);
+        b.record(REMOVE, 1, true, 50);
+        b.record(CONTAINS, 2, true, 60);
+        LinearizabilityChecker.Report report = check(history);
+        assertEquals(2, report.getKeys());
+        assertEquals(1, report.getViolations().size());
+        assertEquals(2, report.getViolations().get(0).getKey());
+    }
+}
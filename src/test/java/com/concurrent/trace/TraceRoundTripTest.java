@@ -0,0 +1,74 @@
+package com.concurrent.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TraceRoundTripTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readerReturnsWrittenRecords() throws IOException {
+        // More records than the writer buffers, so several chunks are flushed
+        int n = 10_000;
+        Path file = dir.resolve("t0.trace");
+        try (TraceWriter writer = new TraceWriter(file, 100_000, 50, 1)) {
+            for (int i = 0; i < n; i++) writer.write(i * 10L, i - 5000, (byte) (i % 3));
+            assertEquals(n, writer.getCount());
+        }
+        assertEquals(TraceFormat.HEADER_BYTES + (long) n * TraceFormat.RECORD_BYTES, Files.size(file));
+
+        TraceReader reader = new TraceReader(file);
+        assertEquals(n, reader.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i * 10L, reader.nanos(i));
+            assertEquals(i - 5000, reader.key(i));
+            assertEquals((byte) (i % 3), reader.op(i));
+        }
+        assertEquals((n - 1) * 10L, reader.spanNanos());
+        assertEquals(100_000, reader.elements());
+        assertEquals(50, reader.prefillPercent());
+        assertEquals(1, reader.prefillMode());
+    }
+
+    @Test
+    void emptyTraceHasNoRecords() throws IOException {
+        Path file = dir.resolve("empty.trace");
+        new TraceWriter(file, 1000, 0, 0).close();
+        TraceReader reader = new TraceReader(file);
+        assertEquals(0, reader.size());
+        assertEquals(0, reader.spanNanos());
+    }
+
+    @Test
+    void openAllReadsTraceFilesInNameOrder() throws IOException {
+        for (int t = 2; t >= 0; t--) {
+            try (TraceWriter writer = new TraceWriter(dir.resolve("thread-" + t + ".trace"), 10, 50, 0)) {
+                writer.write(1, t, TraceFormat.OP_INSERT);
+            }
+        }
+        Files.writeString(dir.resolve("notes.txt"), "not a trace");
+        List<TraceReader> readers = TraceReader.openAll(dir);
+        assertEquals(3, readers.size());
+        for (int t = 0; t < 3; t++) assertEquals(t, readers.get(t).key(0));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotTraces() throws IOException {
+        Path file = dir.resolve("bogus.trace");
+        Files.write(file, new byte[TraceFormat.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> new TraceReader(file));
+        Path shorter = dir.resolve("short.trace");
+        Files.write(shorter, new byte[4]);
+        assertThrows(IOException.class, () -> new TraceReader(shorter));
+    }
+}
@@ -0,0 +1,81 @@
+package com.concurrent.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsUtilTest {
+
+    private static final double EPS = 1e-3;
+
+    @Test
+    void confidenceHalfWidthUsesStudentT() {
+        double[] values = {1, 2, 3, 4, 5};
+        // t(4) = 2.776, s = sqrt(2.5)
+        assertEquals(2.776 * Math.sqrt(2.5) / Math.sqrt(5), StatsUtil.confidenceHalfWidth(values, 5), EPS);
+        // Only the first n values count
+        assertEquals(12.706 * Math.sqrt(0.5) / Math.sqrt(2), StatsUtil.confidenceHalfWidth(values, 2), EPS);
+    }
+
+    @Test
+    void confidenceHalfWidthIsUnboundedBelowTwoValues() {
+        assertEquals(Double.POSITIVE_INFINITY, StatsUtil.confidenceHalfWidth(new double[] {42}, 1));
+    }
+
+    @Test
+    void tCriticalFallsBackToNormalForLargeSamples() {
+        assertEquals(12.706, StatsUtil.tCritical95(1), EPS);
+        assertEquals(2.042, StatsUtil.tCritical95(30), EPS);
+        assertEquals(1.960, StatsUtil.tCritical95(1000), EPS);
+    }
+
+    @Test
+    void twoClustersAreBimodal() {
+        // With the small-sample correction, even two clean equal clusters need about ten values
+        double[] values = new double[20];
+        for (int i = 0; i < values.length; i++) values[i] = (i % 2 == 0 ? 100 : 200) + i % 3;
+        assertTrue(StatsUtil.bimodalityCoefficient(values, values.length) > 5.0 / 9.0);
+        assertTrue(StatsUtil.isBimodal(values, values.length));
+    }
+
+    @Test
+    void bellShapedSampleIsNotBimodal() {
+        double[] values = {10, 12, 12, 13, 13, 13, 13, 14, 14, 16};
+        assertFalse(StatsUtil.isBimodal(values, values.length));
+    }
+
+    @Test
+    void bimodalityNeedsFourValues() {
+        double[] values = {1, 100, 1};
+        assertTrue(Double.isNaN(StatsUtil.bimodalityCoefficient(values, 3)));
+        assertFalse(StatsUtil.isBimodal(values, 3));
+    }
+
+    @Test
+    void fewRunsFlagOnlyFromSixValues() {
+        // The most bimodal split of 5 values still falls short; 6 values with one outlier pass
+        assertFalse(StatsUtil.isBimodal(new double[] {1, 1, 1, 1, 100}, 5));
+        assertFalse(StatsUtil.isBimodal(new double[] {1, 1, 100, 100, 100}, 5));
+        assertTrue(StatsUtil.isBimodal(new double[] {1, 1, 1, 1, 1, 100}, 6));
+    }
+
+    @Test
+    void welchMatchesHandComputedStatistic() {
+        double[] a = {1, 2, 3};
+        double[] b = {4, 5, 6};
+        // Both variances are 1: se = sqrt(1/3 + 1/3), df = (2/3)^2 / (2 * (1/3)^2 / 2)
+        assertEquals(3 / Math.sqrt(2.0 / 3), StatsUtil.welchT(a, b), EPS);
+        assertEquals(-3 / Math.sqrt(2.0 / 3), StatsUtil.welchT(b, a), EPS);
+        assertEquals(4, StatsUtil.welchDegreesOfFreedom(a, b));
+    }
+
+    @Test
+    void welchHandlesDegenerateSamples() {
+        assertEquals(0, StatsUtil.welchT(new double[] {5, 5}, new double[] {5, 5}));
+        assertEquals(Double.POSITIVE_INFINITY, StatsUtil.welchT(new double[] {5, 5}, new double[] {6, 6}));
+        assertTrue(Double.isNaN(StatsUtil.welchT(new double[] {5}, new double[] {6, 7})));
+        assertEquals(0, StatsUtil.welchDegreesOfFreedom(new double[] {5}, new double[] {6, 7}));
+    }
+}